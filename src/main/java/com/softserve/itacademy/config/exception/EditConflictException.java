@@ -0,0 +1,10 @@
+package com.softserve.itacademy.config.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+public class EditConflictException extends OptimisticLockingFailureException {
+
+    public EditConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserve.itacademy.config.exception;
+
+import com.softserve.itacademy.controller.AuthController;
+import com.softserve.itacademy.controller.TaskRestController;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Answers errors of the JSON API with RFC 9457 problem details instead of the HTML error page.
+ * Runs before {@link GlobalExceptionHandler}, which still handles everything else.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RestControllerAdvice(assignableTypes = {TaskRestController.class, AuthController.class})
+public class RestExceptionHandler {
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ProblemDetail methodArgumentNotValidExceptionHandler(HttpServletRequest request, MethodArgumentNotValidException exception) {
+        String detail = exception.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        return getProblemDetail(request, HttpStatus.BAD_REQUEST, exception, detail);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ProblemDetail httpMessageNotReadableExceptionHandler(HttpServletRequest request, HttpMessageNotReadableException exception) {
+        return getProblemDetail(request, HttpStatus.BAD_REQUEST, exception, "The request body is malformed or has a value of the wrong type");
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ProblemDetail methodArgumentTypeMismatchExceptionHandler(HttpServletRequest request, MethodArgumentTypeMismatchException exception) {
+        return getProblemDetail(request, HttpStatus.BAD_REQUEST, exception, exception.getName() + ": invalid value '" + exception.getValue() + "'");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail illegalArgumentExceptionHandler(HttpServletRequest request, IllegalArgumentException exception) {
+        return getProblemDetail(request, HttpStatus.BAD_REQUEST, exception, exception.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail optimisticLockingFailureExceptionHandler(HttpServletRequest request, OptimisticLockingFailureException exception) {
+        return getProblemDetail(request, HttpStatus.CONFLICT, exception, exception.getMessage());
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ProblemDetail accessForbiddenExceptionHandler(HttpServletRequest request, AccessDeniedException exception) {
+        return getProblemDetail(request, HttpStatus.FORBIDDEN, exception, exception.getMessage());
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ProblemDetail entityNotFoundExceptionHandler(HttpServletRequest request, EntityNotFoundException exception) {
+        return getProblemDetail(request, HttpStatus.NOT_FOUND, exception, exception.getMessage());
+    }
+
+    private ProblemDetail getProblemDetail(HttpServletRequest request, HttpStatus httpStatus, Exception exception, String detail) {
+        log.error("Exception raised = {} :: URL = {}", exception.getMessage(), request.getRequestURL(), exception);
+        return ProblemDetail.forStatusAndDetail(httpStatus, detail);
+    }
+}
@@ -0,0 +1,19 @@
+package com.softserve.itacademy.config.security;
+
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+
+import java.io.Serializable;
+
+/**
+ * Who is signed in. Kept instead of the {@link User} entity in the security context,
+ * the credential cache and API tokens: it is immutable, carries no password hash
+ * and can be shared between requests and threads.
+ */
+public record AuthenticatedUser(long id, String username, UserRole role, String firstName)
+        implements Serializable {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), user.getFirstName());
+    }
+}
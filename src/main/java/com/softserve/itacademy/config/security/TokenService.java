@@ -0,0 +1,76 @@
+package com.softserve.itacademy.config.security;
+
+import com.softserve.itacademy.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Issues and verifies the signed tokens used by API clients.
+ * Everything needed to build the security context travels in the claims,
+ * so verifying a token costs one HMAC and no database access.
+ */
+@Slf4j
+@Component
+public class TokenService {
+
+    private static final String USER_ID = "uid";
+    private static final String ROLE = "role";
+    private static final String FIRST_NAME = "firstName";
+
+    private final SecretKey signingKey;
+    private final Duration expiration;
+
+    public TokenService(@Value("${token.signing.key}") String signingKey,
+                        @Value("${token.expiration:1h}") Duration expiration) {
+        this.signingKey = Keys.hmacShaKeyFor(signingKey.getBytes(StandardCharsets.UTF_8));
+        this.expiration = expiration;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(user.username())
+                .claim(USER_ID, user.id())
+                .claim(ROLE, user.role().name())
+                .claim(FIRST_NAME, user.firstName())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(expiration)))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Returns the user rebuilt from the token claims,
+     * or an empty optional if the token is malformed, forged or expired.
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(signingKey)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            return Optional.of(toUser(claims));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected API token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static AuthenticatedUser toUser(Claims claims) {
+        return new AuthenticatedUser(claims.get(USER_ID, Long.class), claims.getSubject(),
+                UserRole.valueOf(claims.get(ROLE, String.class)), claims.get(FIRST_NAME, String.class));
+    }
+}
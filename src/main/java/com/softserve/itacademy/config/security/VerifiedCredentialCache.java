@@ -0,0 +1,113 @@
+package com.softserve.itacademy.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remembers credentials that recently passed BCrypt verification, so repeated
+ * HTTP Basic requests from the same client don't pay for a full hash each time.
+ * Only an HMAC of the username and password is kept, keyed with a secret that
+ * is generated on startup and never leaves the process, next to the immutable
+ * {@link AuthenticatedUser} the authentication is rebuilt from. A user changed or deleted
+ * on any node is dropped through the {@link InvalidationBus}, so no node keeps signing them
+ * in with an old password or role.
+ */
+@Slf4j
+@Component
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, VerifiedCredential> cache;
+    private final SecretKeySpec hashKey;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedCredentialCache(MeterRegistry meterRegistry, InvalidationBus invalidationBus,
+                                   @Value("${security.credential-cache.max-size:10000}") long maxSize,
+                                   @Value("${security.credential-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.hashKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+
+        this.hits = Counter.builder("security.credential.cache")
+                .tag("result", "hit")
+                .description("Authentications served without BCrypt verification")
+                .register(meterRegistry);
+        this.misses = Counter.builder("security.credential.cache")
+                .tag("result", "miss")
+                .description("Authentications that required BCrypt verification")
+                .register(meterRegistry);
+        Gauge.builder("security.credential.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+        invalidationBus.subscribe(this::apply);
+    }
+
+    public Optional<AuthenticatedUser> lookup(String username, String password) {
+        VerifiedCredential credential = cache.getIfPresent(username);
+        if (credential != null && MessageDigest.isEqual(credential.digest(), digest(username, password))) {
+            hits.increment();
+            return Optional.of(credential.user());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String username, String password, AuthenticatedUser user) {
+        cache.put(username, new VerifiedCredential(digest(username, password), user));
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            log.debug("Evicting cached credentials of user: {}", username);
+            cache.invalidate(username);
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private void apply(EntityChange change) {
+        if (change.type() == EntityChange.Type.USER || change.type() == EntityChange.Type.DELETED_USER) {
+            cache.asMap().values().removeIf(credential -> credential.user().id() == change.id());
+        }
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to hash credentials", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest, AuthenticatedUser user) {
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
 import java.util.Optional;
 
 @Component
@@ -17,9 +18,11 @@ public class WebAuthenticationProvider implements AuthenticationProvider {
 
     private PasswordEncoder passwordEncoder;
     private final UserService userService;
+    private final VerifiedCredentialCache credentialCache;
 
-    public WebAuthenticationProvider(UserService userService) {
+    public WebAuthenticationProvider(UserService userService, VerifiedCredentialCache credentialCache) {
         this.userService = userService;
+        this.credentialCache = credentialCache;
     }
 
     @Autowired
@@ -29,14 +32,23 @@ public class WebAuthenticationProvider implements AuthenticationProvider {
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
-        String username = authentication.getName();
+        // lower-cased like stored e-mails, so the cache key matches what evict() is called with
+        String username = authentication.getName().toLowerCase(Locale.ROOT);
         String password = authentication.getCredentials().toString();
+
+        Optional<AuthenticatedUser> cachedUser = credentialCache.lookup(username, password);
+        if (cachedUser.isPresent()) {
+            return new WebAuthenticationToken(cachedUser.get());
+        }
+
         Optional<User> userOptional = userService.findByUsername(username);
 
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                return new WebAuthenticationToken(user);
+            if (user.isEnabled() && passwordEncoder.matches(password, user.getPassword())) {
+                AuthenticatedUser authenticatedUser = AuthenticatedUser.of(user);
+                credentialCache.put(username, password, authenticatedUser);
+                return new WebAuthenticationToken(authenticatedUser);
             }
         }
         return null;
@@ -1,31 +1,32 @@
 package com.softserve.itacademy.config.security;
 
-import com.softserve.itacademy.model.User;
 import lombok.Data;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Collection;
+import java.util.List;
 
 @Data
 public class WebAuthenticationToken implements Authentication {
 
-    private final User user;
+    private final AuthenticatedUser user;
     private boolean isAuthenticated;
 
-    public WebAuthenticationToken(User user) {
+    public WebAuthenticationToken(AuthenticatedUser user) {
         this.user = user;
         isAuthenticated = true;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getAuthorities();
+        return List.of(new SimpleGrantedAuthority(user.role().name()));
     }
 
     @Override
     public Object getCredentials() {
-        return user.getPassword();
+        return null;
     }
 
     @Override
@@ -33,13 +34,13 @@ public class WebAuthenticationToken implements Authentication {
         return user;
     }
 
-    public User getUser() {
+    public AuthenticatedUser getUser() {
         return user;
     }
 
     @Override
     public Object getPrincipal() {
-        return user.getUsername();
+        return user.username();
     }
 
     @Override
@@ -54,7 +55,7 @@ public class WebAuthenticationToken implements Authentication {
 
     @Override
     public String getName() {
-        return user.getUsername();
+        return user.username();
     }
 
 }
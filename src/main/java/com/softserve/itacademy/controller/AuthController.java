@@ -0,0 +1,46 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.config.security.TokenService;
+import com.softserve.itacademy.config.security.WebAuthenticationProvider;
+import com.softserve.itacademy.config.security.WebAuthenticationToken;
+import com.softserve.itacademy.dto.RestAuthRequestDto;
+import com.softserve.itacademy.dto.RestAuthResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final WebAuthenticationProvider webAuthenticationProvider;
+    private final TokenService tokenService;
+
+    @PostMapping("/login")
+    public ResponseEntity<RestAuthResponseDto> login(@RequestBody RestAuthRequestDto request) {
+        log.info("Issuing API token for user: {}", request.getUsername());
+        if (request.getUsername() == null || request.getPassword() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Authentication authentication = webAuthenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+        if (!(authentication instanceof WebAuthenticationToken token)) {
+            log.warn("Rejected API login for user: {}", request.getUsername());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(RestAuthResponseDto.builder()
+                .token(tokenService.issue(token.getUser()))
+                .build());
+    }
+}
@@ -8,6 +8,9 @@ import com.softserve.itacademy.model.TaskPriority;
 import com.softserve.itacademy.service.StateService;
 import com.softserve.itacademy.service.TaskService;
 import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.merge.EditBase;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +20,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Slf4j
 @Controller
 @RequestMapping("/tasks")
@@ -26,6 +31,7 @@ public class TaskController {
     private final TaskService taskService;
     private final ToDoService todoService;
     private final StateService stateService;
+    private final UserService userService;
     private final TaskTransformer taskTransformer;
 
     // TODO: can create todo if is owner or collaborator
@@ -34,7 +40,7 @@ public class TaskController {
     public String create(@PathVariable("todoId") long todoId, Model model) {
         log.info("Accessing create task form for ToDo ID: {}", todoId);
         model.addAttribute("task", new TaskDto());
-        model.addAttribute("todo", todoService.readById(todoId));
+        model.addAttribute("todo", todoService.readSnapshot(todoId));
         model.addAttribute("priorities", TaskPriority.values());
         return "create-task";
     }
@@ -47,7 +53,7 @@ public class TaskController {
         log.info("Creating task for ToDo ID: {}", todoId);
         if (result.hasErrors()) {
             log.warn("Validation errors occurred while creating task for ToDo ID: {}", todoId);
-            model.addAttribute("todo", todoService.readById(todoId));
+            model.addAttribute("todo", todoService.readSnapshot(todoId));
             model.addAttribute("priorities", TaskPriority.values());
             return "create-task";
         }
@@ -62,11 +68,11 @@ public class TaskController {
     @GetMapping("/{task_id}/update/todos/{todoId}")
     public String taskUpdateForm(@PathVariable("task_id") long taskId, @PathVariable("todoId") long todoId, Model model) {
         log.info("Accessing update form for Task ID: {} in ToDo ID: {}", taskId, todoId);
-        TaskDto taskDto = taskTransformer.convertToDto(taskService.readById(taskId));
+        TaskDto taskDto = taskTransformer.convertToDto(
+                taskService.readVisibleTo(taskId, todoId, userService.getCurrentUser().id()));
         model.addAttribute("task", taskDto);
         model.addAttribute("todo", todoService.readById(todoId));
         model.addAttribute("priorities", TaskPriority.values());
-        model.addAttribute("states", stateService.getAll());
         return "update-task";
     }
 
@@ -74,26 +80,32 @@ public class TaskController {
     @PreAuthorize("@securityService.isOwnerOrCollaborator(#todoId)")
     @PostMapping("/{task_id}/update/todos/{todoId}")
     public String update(@PathVariable("task_id") long taskId, @PathVariable("todoId") long todoId, Model model,
-                         @Validated @ModelAttribute("task") TaskDto taskDto, BindingResult result) {
+                         @Validated @ModelAttribute("task") TaskDto taskDto, BindingResult result,
+                         @RequestParam Map<String, String> params) {
         log.info("Updating Task ID: {} in ToDo ID: {}", taskId, todoId);
         if (taskDto == null) {
             log.error("TaskDto is null for Task ID: {}", taskId);
             throw new NullEntityReferenceException();
         }
+        if (taskDto.getId() != taskId || taskDto.getTodoId() != todoId) {
+            log.warn("Task ID: {} in ToDo ID: {} submitted for Task ID: {} in ToDo ID: {}",
+                    taskDto.getId(), taskDto.getTodoId(), taskId, todoId);
+            throw new EntityNotFoundException("Task with id " + taskDto.getId() + " not found");
+        }
+        Task existing = taskService.readVisibleTo(taskId, todoId, userService.getCurrentUser().id());
         if (result.hasErrors()) {
             log.warn("Validation errors occurred while updating Task ID: {}", taskId);
-            model.addAttribute("task", taskService.readById(taskId));
+            model.addAttribute("task", existing);
             model.addAttribute("priorities", TaskPriority.values());
-            model.addAttribute("states", stateService.getAll());
             return "update-task";
         }
         Task task = taskTransformer.fillEntityFields(
                 new Task(),
                 taskDto,
-                todoService.readById(taskDto.getTodoId()),
+                todoService.readById(todoId),
                 stateService.readById(taskDto.getStateId())
         );
-        taskService.update(task);
+        taskService.update(task, EditBase.from(params));
         log.info("Task was updated");
         log.info("Task ID: {} updated successfully in ToDo ID: {}", taskId, todoId);
         return "redirect:/todos/" + todoId + "/read";
@@ -104,7 +116,7 @@ public class TaskController {
     @GetMapping("/{task_id}/delete/todos/{todo_id}")
     public String delete(@PathVariable("task_id") long taskId, @PathVariable("todo_id") long todoId) {
         log.info("Deleting Task ID: {} from ToDo ID: {}", taskId, todoId);
-        taskService.delete(taskId);
+        taskService.delete(taskId, todoId);
         log.info("Task ID: {} deleted successfully from ToDo ID: {}", taskId, todoId);
         return "redirect:/todos/" + todoId + "/read";
     }
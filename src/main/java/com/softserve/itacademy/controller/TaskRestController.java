@@ -0,0 +1,49 @@
+package com.softserve.itacademy.controller;
+
+import com.softserve.itacademy.dto.TaskOperationDto;
+import com.softserve.itacademy.dto.TaskOperationResultDto;
+import com.softserve.itacademy.dto.TaskPatchDto;
+import com.softserve.itacademy.dto.TaskVersionDto;
+import com.softserve.itacademy.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/todos/{todoId}/tasks")
+@RequiredArgsConstructor
+public class TaskRestController {
+
+    private final TaskService taskService;
+
+    @PreAuthorize("@securityService.isOwnerOrCollaborator(#todoId)")
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskOperationResultDto>> applyBatch(@PathVariable long todoId,
+                                                                   @RequestBody List<TaskOperationDto> operations) {
+        log.info("Received batch of {} task operations for ToDo ID: {}", operations.size(), todoId);
+        if (operations.size() > TaskService.MAX_BATCH_SIZE) {
+            log.warn("Rejected batch of {} task operations, the limit is {}", operations.size(), TaskService.MAX_BATCH_SIZE);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.applyBatch(todoId, operations));
+    }
+
+    @PreAuthorize("@securityService.isOwnerOrCollaborator(#todoId)")
+    @PatchMapping("/{taskId}")
+    public TaskVersionDto patch(@PathVariable long todoId, @PathVariable long taskId,
+                                @Validated @RequestBody TaskPatchDto patch) {
+        log.info("Patching Task ID: {} in ToDo ID: {} at version {}", taskId, todoId, patch.getVersion());
+        return taskService.patch(todoId, taskId, patch);
+    }
+}
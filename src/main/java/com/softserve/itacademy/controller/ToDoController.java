@@ -1,12 +1,16 @@
 package com.softserve.itacademy.controller;
 
 import com.softserve.itacademy.config.security.WebAuthenticationToken;
-import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.TaskListItemDto;
+import com.softserve.itacademy.dto.ToDoDetailsDto;
+import com.softserve.itacademy.dto.ToDoListItemDto;
+import com.softserve.itacademy.dto.userDto.UserSummaryDto;
 import com.softserve.itacademy.model.ToDo;
-import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.service.TaskService;
 import com.softserve.itacademy.service.ToDoService;
 import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.merge.EditBase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,7 +23,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Controller
 @Slf4j
@@ -64,13 +68,9 @@ public class ToDoController {
     @GetMapping("/{id}/read")
     public String read(@PathVariable long id, Model model) {
         log.info("Reading ToDo with id: {}", id);
-        ToDo todo = todoService.readById(id);
-        List<Task> tasks = taskService.getByTodoId(id);
-        List<User> users = userService.getAll().stream()
-                .filter(user -> user.getId() != todo.getOwner().getId())
-                .filter(user -> todo.getCollaborators().stream().allMatch((collaborator)
-                        -> collaborator.getId() != user.getId()))
-                .collect(Collectors.toList());
+        ToDoDetailsDto todo = todoService.readVisibleTo(id, userService.getCurrentUser().id());
+        List<TaskListItemDto> tasks = taskService.getListItemsByTodoId(id);
+        List<UserSummaryDto> users = userService.getCollaboratorCandidates(id, null, 0).getContent();
         model.addAttribute("todo", todo);
         model.addAttribute("tasks", tasks);
         model.addAttribute("users", users);
@@ -93,7 +93,8 @@ public class ToDoController {
     @PreAuthorize("@securityService.isCurrentUserAndOwner(#ownerId)")
     @PostMapping("/{todo_id}/update/users/{owner_id}")
     public String update(@PathVariable("todo_id") long todoId, @PathVariable("owner_id") long ownerId,
-                         @Validated @ModelAttribute("todo") ToDo todo, BindingResult result, Model model) {
+                         @Validated @ModelAttribute("todo") ToDo todo, BindingResult result, Model model,
+                         @RequestParam Map<String, String> params) {
         log.info("Updating ToDo with id: {}, ownerId: {}", todoId, ownerId);
         if (result.hasErrors()) {
             todo.setOwner(userService.readById(ownerId));
@@ -102,7 +103,7 @@ public class ToDoController {
         ToDo oldTodo = todoService.readById(todoId);
         todo.setOwner(oldTodo.getOwner());
         todo.setCollaborators(oldTodo.getCollaborators());
-        todoService.update(todo);
+        todoService.update(todo, EditBase.from(params));
         model.addAttribute(todo);
         log.info("ToDo updated successfully with id: {}", todo.getId());
         return "redirect:/todos/all/users/" + ownerId;
@@ -121,26 +122,55 @@ public class ToDoController {
     // TODO: only for currently log in user
     @PreAuthorize("@securityService.isCurrentUserAndOwner(#userId)")
     @GetMapping("/all/users/{user_id}")
-    public String getAll(@PathVariable("user_id") long userId, Model model) {
-        log.info("Fetching all ToDos for userId: {}", userId);
-        List<ToDo> todos = todoService.getByUserId(userId);
-        model.addAttribute("todos", todos);
-        model.addAttribute("user", userService.readById(userId));
+    public String getAll(@PathVariable("user_id") long userId,
+                         @RequestParam(name = "after", required = false) String after,
+                         @RequestParam(name = "size", defaultValue = "" + ToDoService.DEFAULT_PAGE_SIZE) int size,
+                         Model model) {
+        log.info("Fetching ToDos for userId: {}, after: {}", userId, after);
+        addTodoPage(model, userId, after, size, 0);
+        model.addAttribute("user", userService.getSummary(userId));
         model.addAttribute("success", "Your password was successfully changed!");
-        log.debug("Fetched todos: {}", todos);
         return "read-user";
     }
 
+    // TODO: only for currently log in user
+    @PreAuthorize("@securityService.isCurrentUserAndOwner(#userId)")
+    @GetMapping("/all/users/{user_id}/page")
+    public String getPage(@PathVariable("user_id") long userId,
+                          @RequestParam(name = "after") String after,
+                          @RequestParam(name = "size", defaultValue = "" + ToDoService.DEFAULT_PAGE_SIZE) int size,
+                          @RequestParam(name = "start", defaultValue = "0") int start,
+                          Model model) {
+        log.info("Fetching next ToDos page for userId: {}, after: {}", userId, after);
+        addTodoPage(model, userId, after, size, start);
+        return "read-user :: todo-rows";
+    }
+
+    private void addTodoPage(Model model, long userId, String after, int size, int start) {
+        KeysetPage<ToDoListItemDto> page = todoService.getPageByUserId(userId, after, size);
+        model.addAttribute("todos", page.content());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("size", size);
+        model.addAttribute("start", start);
+        log.debug("Fetched todos: {}", page.content());
+    }
+
+    @PreAuthorize("@securityService.isTodoOwner(#todoId)")
+    @GetMapping("/{todoId}/collaborators/candidates")
+    @ResponseBody
+    public List<UserSummaryDto> collaboratorCandidates(@PathVariable long todoId,
+                                                       @RequestParam(name = "q", defaultValue = "") String query,
+                                                       @RequestParam(name = "page", defaultValue = "0") int page) {
+        log.debug("Searching collaborator candidates for ToDo with id: {}, query: '{}', page: {}", todoId, query, page);
+        return userService.getCollaboratorCandidates(todoId, query, page).getContent();
+    }
+
     // TODO: only if is owner
     @PreAuthorize("@securityService.isTodoOwner(#todoId)")
     @GetMapping("/{todoId}/add")
     public String addCollaborator(@PathVariable long todoId, @RequestParam("user_id") long userId) {
         log.info("Adding collaborator with userId: {} to ToDo with id: {}", userId, todoId);
-        ToDo todo = todoService.readById(todoId);
-        List<User> collaborators = todo.getCollaborators();
-        collaborators.add(userService.readById(userId));
-        todo.setCollaborators(collaborators);
-        todoService.update(todo);
+        todoService.addCollaborator(todoId, userService.readById(userId));
         log.info("Collaborator added successfully");
         return "redirect:/todos/" + todoId + "/read";
     }
@@ -150,11 +180,7 @@ public class ToDoController {
     @GetMapping("/{todoId}/remove")
     public String removeCollaborator(@PathVariable long todoId, @RequestParam("user_id") long userId) {
         log.info("Removing collaborator with userId: {} from ToDo with id: {}", userId, todoId);
-        ToDo todo = todoService.readById(todoId);
-        List<User> collaborators = todo.getCollaborators();
-        collaborators.remove(userService.readById(userId));
-        todo.setCollaborators(collaborators);
-        todoService.update(todo);
+        todoService.removeCollaborator(todoId, userService.readById(userId));
         log.info("Collaborator removed successfully");
         return "redirect:/todos/" + todoId + "/read";
     }
@@ -163,10 +189,6 @@ public class ToDoController {
     public boolean canReadToDo(long todo_id) {
         WebAuthenticationToken authentication
                 = (WebAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        User user = authentication.getUser();
-        ToDo todo = todoService.readById(todo_id);
-        boolean isCollaborator = todo.getCollaborators().stream().anyMatch((collaborator)
-                -> collaborator.getId() == user.getId());
-        return user.getId() == todo.getOwner().getId() || isCollaborator;
+        return todoService.isVisibleTo(todo_id, authentication.getUser().id());
     }
 }
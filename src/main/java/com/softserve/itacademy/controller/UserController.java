@@ -1,18 +1,24 @@
 package com.softserve.itacademy.controller;
 
 import com.softserve.itacademy.config.security.annotations.IsAdmin;
+import com.softserve.itacademy.dto.KeysetPage;
 import com.softserve.itacademy.dto.userDto.CreateUserDto;
 import com.softserve.itacademy.dto.userDto.UpdateUserDto;
 import com.softserve.itacademy.dto.userDto.UserDto;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
+import com.softserve.itacademy.dto.userDto.UserSnapshot;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.model.UserRole;
-import com.softserve.itacademy.repository.UserRepository;
 import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.merge.EditBase;
+import com.softserve.itacademy.service.purge.UserPurgeJob;
+import com.softserve.itacademy.service.purge.UserPurgeProgress;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -20,6 +26,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/users")
@@ -28,8 +35,7 @@ import java.security.Principal;
 public class UserController {
 
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
-    private final UserRepository userRepository;
+    private final UserPurgeJob purgeJob;
 
     // TODO: for admins only
     @IsAdmin
@@ -50,7 +56,6 @@ public class UserController {
             log.warn("Validation errors while creating user: {}", result.getAllErrors());
             return "create-user";
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRole(UserRole.USER);
         User newUser = userService.create(user);
         log.info("User created successfully with ID: {}", newUser.getId());
@@ -62,7 +67,7 @@ public class UserController {
     @GetMapping("/{id}/read")
     public String read(@PathVariable long id, Model model) {
         log.info("Fetching details for user ID: {}", id);
-        User user = userService.readById(id);
+        UserSnapshot user = userService.readSnapshot(id);
         model.addAttribute("user", user);
         log.debug("Fetched user details: {}", user);
         return "user-info";
@@ -84,7 +89,8 @@ public class UserController {
     @PreAuthorize("hasAnyAuthority('ADMIN') or @securityService.isCurrentUserAndOwner(#id)")
     @PostMapping("/{id}/update")
     public String update(@PathVariable long id, Model model,
-                         @Validated @ModelAttribute("user") UpdateUserDto updateUserDto, BindingResult result) {
+                         @Validated @ModelAttribute("user") UpdateUserDto updateUserDto, BindingResult result,
+                         @RequestParam Map<String, String> params) {
         log.info("Updating user with ID: {}", id);
         UserDto oldUser = userService.findByIdThrowing(id);
 
@@ -95,7 +101,7 @@ public class UserController {
             return "update-user";
         }
 
-        userService.update(updateUserDto);
+        userService.update(updateUserDto, EditBase.from(params));
         log.info("User updated successfully with ID: {}", id);
         return "redirect:/users/" + id + "/read";
     }
@@ -105,29 +111,64 @@ public class UserController {
     @GetMapping("/{id}/delete")
     public String delete(@PathVariable("id") long id) {
         log.info("Deleting user with ID: {}", id);
-        User currentUser = userService.getCurrentUser();
-        if (currentUser.getId() == id) {
+        if (userService.getCurrentUser().id() == id) {
             log.info("Deleting currently logged-in user with ID: {}", id);
-            userService.delete(id);
+            userService.requestDeletion(id);
             SecurityContextHolder.clearContext();
             return "redirect:/login";
         }
-        userService.delete(id);
-        log.info("User deleted successfully with ID: {}", id);
+        userService.requestDeletion(id);
+        log.info("User with ID: {} marked for deletion", id);
         return "redirect:/users/all";
     }
 
+    @IsAdmin
+    @GetMapping("/{id}/deletion")
+    @ResponseBody
+    public ResponseEntity<UserPurgeProgress> deletionProgress(@PathVariable("id") long id) {
+        log.debug("Fetching deletion progress for user ID: {}", id);
+        return ResponseEntity.of(purgeJob.getProgress(id));
+    }
+
     // TODO: for admins only
     @IsAdmin
     @GetMapping("/all")
-    public String getAll(Model model) {
-        log.info("Fetching all users.");
-        model.addAttribute("users", userService.getAll());
-        log.debug("All users fetched and added to model.");
+    public String getAll(@RequestParam(name = "sort", defaultValue = "LAST_NAME") UserListSort sort,
+                         @RequestParam(name = "q", required = false) String query,
+                         @RequestParam(name = "after", required = false) String after,
+                         @RequestParam(name = "size", defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+                         Model model) {
+        log.info("Fetching users sorted by {}, query: '{}', after: {}", sort, query, after);
+        addUserPage(model, sort, query, after, size, 0);
+        model.addAttribute("sorts", UserListSort.values());
         model.addAttribute("success", "Your password was successfully changed!");
         return "users-list";
     }
 
+    @IsAdmin
+    @GetMapping("/all/page")
+    public String getPage(@RequestParam(name = "sort", defaultValue = "LAST_NAME") UserListSort sort,
+                          @RequestParam(name = "q", required = false) String query,
+                          @RequestParam(name = "after") String after,
+                          @RequestParam(name = "size", defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+                          @RequestParam(name = "start", defaultValue = "0") int start,
+                          Model model) {
+        log.info("Fetching next users page sorted by {}, query: '{}', after: {}", sort, query, after);
+        addUserPage(model, sort, query, after, size, start);
+        return "users-list :: user-rows";
+    }
+
+    private void addUserPage(Model model, UserListSort sort, String query, String after, int size, int start) {
+        KeysetPage<UserListItemDto> page = userService.getListPage(sort, query, after, size);
+        model.addAttribute("users", page.content());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("sort", sort);
+        model.addAttribute("q", query);
+        model.addAttribute("size", size);
+        model.addAttribute("start", start);
+        log.debug("Fetched users: {}", page.content());
+    }
+
 
     @GetMapping("/change-password")
     public String changePasswordForm(Model model) {
@@ -144,21 +185,16 @@ public class UserController {
 
         String name = principal.getName();
         log.info("Processing password change request for user: {}", name);
-        var user = userService.findByUsername(name);
+        var user = userService.changePassword(name, oldPassword, newPassword);
 
         if (user.isPresent()) {
             log.debug("User found: {}", user.get().getId());
-            if (passwordEncoder.matches(oldPassword, user.get().getPassword())) {
-                user.get().setPassword(passwordEncoder.encode(newPassword));
-                userRepository.save(user.get());
-                if (user.get().getRole().equals(UserRole.ADMIN)) {
-                    log.info("Password changed successfully for user: {}", name);
-                    return "redirect:/users/all?success=true";
-                } else if (user.get().getRole().equals(UserRole.USER)) {
-                    log.info("Password changed successfully for user: {}", name);
-                    return "redirect:/todos/all/users/" + user.get().getId() + "?success=true";
-                }
-
+            if (user.get().getRole().equals(UserRole.ADMIN)) {
+                log.info("Password changed successfully for user: {}", name);
+                return "redirect:/users/all?success=true";
+            } else if (user.get().getRole().equals(UserRole.USER)) {
+                log.info("Password changed successfully for user: {}", name);
+                return "redirect:/todos/all/users/" + user.get().getId() + "?success=true";
             }
         }
 
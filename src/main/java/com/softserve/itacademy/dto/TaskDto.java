@@ -20,6 +20,8 @@ public class TaskDto {
     @NotNull
     private long stateId;
 
+    private long version;
+
     public TaskDto() {
     }
 
@@ -31,6 +33,11 @@ public class TaskDto {
         this.stateId = stateId;
     }
 
+    public TaskDto(long id, String name, String priority, long todoId, long stateId, long version) {
+        this(id, name, priority, todoId, stateId);
+        this.version = version;
+    }
+
     public long getId() {
         return id;
     }
@@ -71,17 +78,25 @@ public class TaskDto {
         this.stateId = stateId;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TaskDto taskDto = (TaskDto) o;
-        return id == taskDto.id && todoId == taskDto.todoId && stateId == taskDto.stateId && Objects.equals(name, taskDto.name) && Objects.equals(priority, taskDto.priority);
+        return id == taskDto.id && todoId == taskDto.todoId && stateId == taskDto.stateId && version == taskDto.version && Objects.equals(name, taskDto.name) && Objects.equals(priority, taskDto.priority);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, priority, todoId, stateId);
+        return Objects.hash(id, name, priority, todoId, stateId, version);
     }
 
     @Override
@@ -92,6 +107,7 @@ public class TaskDto {
                 ", priority = '" + priority + '\'' +
                 ", todoId = " + todoId +
                 ", stateId = " + stateId +
+                ", version = " + version +
                 " }";
     }
 }
@@ -0,0 +1,16 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+
+/**
+ * One row of the task table on read-todo.html. Shared between the requests of a coalesced load,
+ * so it copies the state name instead of holding the entity.
+ */
+public record TaskListItemDto(long id, String name, TaskPriority priority, String stateName) {
+
+    public static TaskListItemDto of(Task task) {
+        return new TaskListItemDto(task.getId(), task.getName(), task.getPriority(),
+                task.getState() == null ? null : task.getState().getName());
+    }
+}
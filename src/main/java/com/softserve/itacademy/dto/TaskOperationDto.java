@@ -0,0 +1,23 @@
+package com.softserve.itacademy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a bulk task request. {@code task} carries the fields the operation needs:
+ * name, priority and optionally stateId for CREATE, id and stateId for UPDATE_STATE, id for DELETE.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperationDto {
+
+    public enum Type {
+        CREATE, UPDATE_STATE, DELETE
+    }
+
+    private Type op;
+    private TaskDto task;
+
+}
@@ -0,0 +1,22 @@
+package com.softserve.itacademy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperationResultDto {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID
+    }
+
+    private int index;
+    private TaskOperationDto.Type op;
+    private Long id;
+    private Status status;
+    private String message;
+
+}
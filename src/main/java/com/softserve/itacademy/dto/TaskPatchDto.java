@@ -0,0 +1,24 @@
+package com.softserve.itacademy.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * Partial task update. Only non-null fields are changed; {@code version} must match the stored one.
+ */
+@Data
+public class TaskPatchDto {
+
+    @NotNull
+    private Long version;
+
+    @Pattern(regexp = ".*\\S.*", message = "The 'name' cannot be empty")
+    private String name;
+
+    @Pattern(regexp = "LOW|MEDIUM|HIGH", message = "Must be one of LOW, MEDIUM, HIGH")
+    private String priority;
+
+    private Long stateId;
+
+}
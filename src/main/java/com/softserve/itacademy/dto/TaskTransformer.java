@@ -15,7 +15,8 @@ public class TaskTransformer {
                 task.getName(),
                 task.getPriority().toString(),
                 task.getTodo().getId(),
-                task.getState().getId()
+                task.getState().getId(),
+                task.getVersion()
         );
     }
 
@@ -25,6 +26,7 @@ public class TaskTransformer {
         task.setPriority(TaskPriority.valueOf(taskDto.getPriority()));
         task.setTodo(todo);
         task.setState(state);
+        task.setVersion(taskDto.getVersion());
         return task;
     }
 }
@@ -0,0 +1,15 @@
+package com.softserve.itacademy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskVersionDto {
+
+    private long id;
+    private long version;
+
+}
@@ -0,0 +1,33 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.model.ToDo;
+
+import java.util.List;
+
+/**
+ * What read-todo.html shows of a to-do. Built inside a load that several requests share,
+ * so it is immutable and holds no managed entity.
+ */
+public record ToDoDetailsDto(long id, String title, Long ownerId, List<Collaborator> collaborators) {
+
+    public record Collaborator(long id, String firstName, String lastName) {
+    }
+
+    public ToDoDetailsDto {
+        collaborators = List.copyOf(collaborators);
+    }
+
+    public static ToDoDetailsDto of(ToDo todo) {
+        List<Collaborator> collaborators = todo.getCollaborators() == null ? List.of()
+                : todo.getCollaborators().stream()
+                        .map(user -> new Collaborator(user.getId(), user.getFirstName(), user.getLastName()))
+                        .toList();
+        return new ToDoDetailsDto(todo.getId(), todo.getTitle(),
+                todo.getOwner() == null ? null : todo.getOwner().getId(), collaborators);
+    }
+
+    public boolean involves(long userId) {
+        return ownerId != null && ownerId == userId
+                || collaborators.stream().anyMatch(collaborator -> collaborator.id() == userId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.softserve.itacademy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of one row of a user's todo list. Selected straight into this record,
+ * so listing todos never loads ToDo entities with their tasks and collaborators.
+ */
+public record ToDoListItemDto(long id, String title, LocalDateTime createdAt,
+                              Long ownerId, String ownerFirstName, String ownerLastName) {
+}
@@ -0,0 +1,30 @@
+package com.softserve.itacademy.dto;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable copy of a to-do with its owner and collaborators reduced to ids.
+ * Cached and shared across requests, so it never holds a managed entity.
+ */
+public record ToDoSnapshot(long id, String title, LocalDateTime createdAt, Long ownerId,
+                           List<Long> collaboratorIds, long version) {
+
+    public ToDoSnapshot {
+        collaboratorIds = List.copyOf(collaboratorIds);
+    }
+
+    public static ToDoSnapshot of(ToDo todo) {
+        List<Long> collaboratorIds = todo.getCollaborators() == null ? List.of()
+                : todo.getCollaborators().stream().map(User::getId).toList();
+        return new ToDoSnapshot(todo.getId(), todo.getTitle(), todo.getCreatedAt(),
+                todo.getOwner() == null ? null : todo.getOwner().getId(), collaboratorIds, todo.getVersion());
+    }
+
+    public boolean involves(long userId) {
+        return ownerId != null && ownerId == userId || collaboratorIds.contains(userId);
+    }
+}
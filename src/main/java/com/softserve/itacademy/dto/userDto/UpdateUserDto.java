@@ -24,4 +24,6 @@ public class UpdateUserDto {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    private Long version;
+
 }
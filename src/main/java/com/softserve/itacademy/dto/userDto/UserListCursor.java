@@ -0,0 +1,43 @@
+package com.softserve.itacademy.dto.userDto;
+
+import com.softserve.itacademy.config.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last user on a page of the users list, passed to clients as an opaque
+ * URL-safe string. Carries the sort it was issued for, so it cannot be replayed against another.
+ */
+public record UserListCursor(UserListSort sort, String key, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static UserListCursor of(UserListSort sort, UserListItemDto user) {
+        String key = switch (sort) {
+            case LAST_NAME -> user.lastName();
+            case EMAIL -> user.email();
+            case ID -> "";
+        };
+        return new UserListCursor(sort, key, user.id());
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserListCursor decode(String cursor, UserListSort expectedSort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, 3);
+            UserListSort sort = UserListSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor issued for another sort");
+            }
+            return new UserListCursor(sort, parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid page cursor '" + cursor + "'");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.softserve.itacademy.dto.userDto;
+
+/**
+ * The columns of one row of the users list; no password hash, no todo collections.
+ */
+public record UserListItemDto(long id, String firstName, String lastName, String email) {
+}
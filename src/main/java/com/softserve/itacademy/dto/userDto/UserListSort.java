@@ -0,0 +1,9 @@
+package com.softserve.itacademy.dto.userDto;
+
+/**
+ * Orders of the admin users list. Each one is a keyset over (key, id) served by an index:
+ * idx_users_last_name, uk_users_email and the primary key respectively.
+ */
+public enum UserListSort {
+    LAST_NAME, EMAIL, ID
+}
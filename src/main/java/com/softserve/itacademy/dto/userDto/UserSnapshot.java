@@ -0,0 +1,17 @@
+package com.softserve.itacademy.dto.userDto;
+
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+
+/**
+ * Immutable copy of the public fields of a user. Cached and shared across requests,
+ * so it carries neither the password hash nor a managed entity.
+ */
+public record UserSnapshot(long id, String firstName, String lastName, String email, UserRole role,
+                           boolean enabled, long version) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getRole(), user.isEnabled(), user.getVersion());
+    }
+}
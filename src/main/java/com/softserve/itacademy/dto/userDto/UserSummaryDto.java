@@ -0,0 +1,16 @@
+package com.softserve.itacademy.dto.userDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+
+    private long id;
+    private String firstName;
+    private String lastName;
+
+}
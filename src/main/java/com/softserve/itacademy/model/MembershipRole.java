@@ -0,0 +1,5 @@
+package com.softserve.itacademy.model;
+
+public enum MembershipRole {
+    OWNER, COLLABORATOR
+}
@@ -5,18 +5,22 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "states")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "states")
 @Getter
 @Setter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class State {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "states_seq")
+    @SequenceGenerator(name = "states_seq", sequenceName = "states_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private long id;
 
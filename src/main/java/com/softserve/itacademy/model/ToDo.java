@@ -1,16 +1,29 @@
 package com.softserve.itacademy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = @Index(name = "idx_todos_owner_created", columnList = "owner_id, created_at, id"))
+@NamedEntityGraph(name = ToDo.WITH_OWNER_AND_COLLABORATORS, attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("collaborators")
+})
 public class ToDo {
+
+    public static final String WITH_OWNER_AND_COLLABORATORS = "ToDo.withOwnerAndCollaborators";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private long id;
 
     @NotBlank(message = "The 'title' cannot be empty")
@@ -22,17 +35,27 @@ public class ToDo {
 
     @ManyToOne
     @JoinColumn(name = "owner_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User owner;
 
-    @OneToMany(mappedBy = "todo", cascade = CascadeType.REMOVE)
+    @OneToMany(mappedBy = "todo")
     private List<Task> tasks;
 
     @ManyToMany
     @JoinTable(name = "todo_collaborator",
             joinColumns = @JoinColumn(name = "todo_id"),
-            inverseJoinColumns = @JoinColumn(name = "collaborator_id"))
+            inverseJoinColumns = @JoinColumn(name = "collaborator_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_todo_collaborator", columnNames = {"todo_id", "collaborator_id"}),
+            indexes = @Index(name = "idx_todo_collaborator_user", columnList = "collaborator_id, todo_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todo-collaborators")
     private List<User> collaborators;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public ToDo() {
     }
 
@@ -84,6 +107,14 @@ public class ToDo {
         this.collaborators = users;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
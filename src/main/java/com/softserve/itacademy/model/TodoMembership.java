@@ -0,0 +1,57 @@
+package com.softserve.itacademy.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized "user can see todo" row, one per owner and per collaborator.
+ * Copies the todo's created_at so a user's todos can be listed in
+ * (created_at, todo_id) order straight from the (user_id, created_at, todo_id) index.
+ */
+@Entity
+@Table(name = "todo_membership",
+        indexes = @Index(name = "idx_todo_membership_user_created", columnList = "user_id, created_at, todo_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TodoMembership {
+
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private TodoMembershipId id;
+
+    @MapsId("userId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @MapsId("todoId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "todo_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ToDo todo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false)
+    private MembershipRole role;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TodoMembership(ToDo todo, User user, MembershipRole role) {
+        this.id = new TodoMembershipId(user.getId(), todo.getId());
+        this.todo = todo;
+        this.user = user;
+        this.role = role;
+        this.createdAt = todo.getCreatedAt();
+    }
+}
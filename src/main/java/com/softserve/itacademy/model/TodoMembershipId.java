@@ -0,0 +1,27 @@
+package com.softserve.itacademy.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TodoMembershipId implements Serializable {
+
+    @Column(name = "user_id")
+    private long userId;
+
+    @Column(name = "todo_id")
+    private long todoId;
+
+}
@@ -1,22 +1,35 @@
 package com.softserve.itacademy.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_users_deletion_requested", columnList = "deletion_requested_at"),
+                @Index(name = "idx_users_last_name", columnList = "last_name, id")})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private long id;
 
     @Pattern(regexp = "[A-Z][a-z]+",
@@ -30,7 +43,7 @@ public class User implements UserDetails {
     private String lastName;
 
     @Pattern(regexp = "[\\w-.]+@([\\w-]+\\.)+[\\w-]{2,4}", message = "Must be a valid e-mail address")
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
 //    @Pattern(regexp = "(?=.*[A-Za-z])(?=.*\\d)[A-Za-z\\d]{6,}",
@@ -41,13 +54,22 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
-    @OneToMany(mappedBy = "owner", cascade = CascadeType.REMOVE)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "deletion_requested_at")
+    private LocalDateTime deletionRequestedAt;
+
+    @OneToMany(mappedBy = "owner")
     private List<ToDo> myTodos;
 
     @ManyToMany
     @JoinTable(name = "todo_collaborator",
         joinColumns = @JoinColumn(name = "collaborator_id"),
         inverseJoinColumns = @JoinColumn(name = "todo_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private List<ToDo> otherTodos;
 
     public User() {
@@ -81,8 +103,12 @@ public class User implements UserDetails {
         return email;
     }
 
+    /**
+     * E-mails are stored lower-cased, so the unique index on the column is case-insensitive
+     * and {@code findByEmail} can look them up with a plain index seek.
+     */
     public void setEmail(String email) {
-        this.email = email;
+        this.email = email == null ? null : email.toLowerCase(Locale.ROOT);
     }
 
     @Override
@@ -102,6 +128,22 @@ public class User implements UserDetails {
         this.role = role;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getDeletionRequestedAt() {
+        return deletionRequestedAt;
+    }
+
+    public void setDeletionRequestedAt(LocalDateTime deletionRequestedAt) {
+        this.deletionRequestedAt = deletionRequestedAt;
+    }
+
     public List<ToDo> getMyTodos() {
         return myTodos;
     }
@@ -145,7 +187,7 @@ public class User implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return deletionRequestedAt == null;
     }
 
     @Override
@@ -1,7 +1,10 @@
 package com.softserve.itacademy.repository;
 
 import com.softserve.itacademy.model.State;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +16,7 @@ public interface StateRepository extends JpaRepository<State, Long> {
 
 //    @Query(value = "select * from states order by id", nativeQuery = true)
 //    @Query("from State order by id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<State> findAllByOrderById();
 
 //    List<State> findAllByOrderByIdAsc();
@@ -1,16 +1,43 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    @Query(value = "select * from tasks where todo_id = ?1", nativeQuery = true)
+    @Query("select t from Task t left join fetch t.state where t.todo.id = :todoId order by t.id")
     List<Task> getByTodoId(long todoId);
 
+    @Query("select t from Task t where t.id = :taskId and t.todo.id = :todoId and (t.todo.owner.id = :userId " +
+            "or exists (select 1 from ToDo m join m.collaborators c where m.id = :todoId and c.id = :userId))")
+    Optional<Task> findByIdVisibleTo(long taskId, long todoId, long userId);
+
+    @Query("select t.id from Task t where t.todo.id = :todoId and t.id in :ids")
+    List<Long> findIdsInTodo(long todoId, Collection<Long> ids);
+
+    @Modifying
+    @Query("update Task t set t.state = :state, t.version = t.version + 1 where t.todo.id = :todoId and t.id in :ids")
+    int updateStateInTodo(long todoId, Collection<Long> ids, State state);
+
+    @Modifying
+    @Query("delete from Task t where t.todo.id = :todoId and t.id in :ids")
+    int deleteInTodo(long todoId, Collection<Long> ids);
+
+    @Query("select t.id from Task t where t.todo.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(long ownerId, Limit limit);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIds(Collection<Long> ids);
+
 }
@@ -0,0 +1,14 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.TaskPriority;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Sets the non-null fields of a task in one UPDATE, provided the task belongs to the todo
+     * and still has the expected version. Returns the number of updated rows (0 or 1).
+     */
+    int patch(long todoId, long taskId, long version, String name, TaskPriority priority, State state);
+
+}
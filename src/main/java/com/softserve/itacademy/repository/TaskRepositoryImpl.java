@@ -0,0 +1,40 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patch(long todoId, long taskId, long version, String name, TaskPriority priority, State state) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        if (name != null) {
+            update.set(task.<String>get("name"), name);
+        }
+        if (priority != null) {
+            update.set(task.<TaskPriority>get("priority"), priority);
+        }
+        if (state != null) {
+            update.set(task.<State>get("state"), state);
+        }
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        update.where(
+                cb.equal(task.get("id"), taskId),
+                cb.equal(task.get("todo").get("id"), todoId),
+                cb.equal(task.get("version"), version));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -1,18 +1,95 @@
 package com.softserve.itacademy.repository;
 
 import com.softserve.itacademy.model.ToDo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ToDoRepository extends JpaRepository<ToDo, Long> {
 
-    @Query(value = "select id, title, created_at, owner_id from todos where owner_id = ?1 union " +
-            "select id, title, created_at, owner_id from todos inner join todo_collaborator on id = todo_id and " +
+    @Query(value = "select id, title, created_at, owner_id, version from todos where owner_id = ?1 union " +
+            "select id, title, created_at, owner_id, version from todos inner join todo_collaborator on id = todo_id and " +
             "collaborator_id = ?1", nativeQuery = true)
     List<ToDo> getByUserId(long userId);
 
+    @EntityGraph(ToDo.WITH_OWNER_AND_COLLABORATORS)
+    @Query("select t from ToDo t where t.id = :todoId and (t.owner.id = :userId or exists " +
+            "(select 1 from ToDo m join m.collaborators c where m.id = t.id and c.id = :userId))")
+    Optional<ToDo> findByIdVisibleTo(long todoId, long userId);
+
+    @EntityGraph(ToDo.WITH_OWNER_AND_COLLABORATORS)
+    Optional<ToDo> findWithCollaboratorsById(long id);
+
+    @Query("select count(t) > 0 from ToDo t where t.id = :todoId and (t.owner.id = :userId or exists " +
+            "(select 1 from ToDo m join m.collaborators c where m.id = t.id and c.id = :userId))")
+    boolean existsVisibleTo(long todoId, long userId);
+
+    boolean existsByIdAndOwnerId(long id, long ownerId);
+
+    /**
+     * Deletes the to-do in one statement; its tasks, collaborator and membership rows
+     * go with it through the ON DELETE CASCADE foreign keys.
+     */
+    @Modifying
+    @Query("delete from ToDo t where t.id = :id")
+    int deleteDirectlyById(long id);
+
+    @Query("select t.id from ToDo t where t.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(long ownerId, Limit limit);
+
+    @Query("select t.id from ToDo t join t.collaborators c where c.id = :userId")
+    List<Long> findIdsByCollaboratorId(long userId, Limit limit);
+
+    @Modifying
+    @Query("delete from ToDo t where t.id in :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    /**
+     * The native statements on todo_collaborator name it as their only query space, so Hibernate
+     * does not clear the whole second-level cache after them. They leave the cached ToDo.collaborators
+     * lists alone; ToDoService evicts the changed ones through {@code EntitySnapshotCache}.
+     */
+    @Modifying
+    @Query(value = "delete from todo_collaborator where collaborator_id = :userId and todo_id in (:todoIds)",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_collaborator"))
+    int deleteCollaborations(long userId, Collection<Long> todoIds);
+
+    /**
+     * Locks the to-do row until the transaction ends, so concurrent changes to its collaborators
+     * run one after another. Empty if there is no such to-do.
+     */
+    @Query(value = "select id from todos where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(long id);
+
+    /**
+     * Adds the collaborator row unless it is already there; returns the number of rows inserted.
+     * Written as insert-select rather than ON CONFLICT so it also runs on the H2 test database.
+     * Call it with the to-do locked ({@link #lockById}): otherwise two concurrent adds can both
+     * pass the NOT EXISTS check and the second fails on the primary key.
+     */
+    @Modifying
+    @Query(value = "insert into todo_collaborator (todo_id, collaborator_id) select :todoId, :userId " +
+            "where not exists (select 1 from todo_collaborator " +
+            "where todo_id = :todoId and collaborator_id = :userId)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_collaborator"))
+    int insertCollaborator(long todoId, long userId);
+
+    @Modifying
+    @Query(value = "delete from todo_collaborator where todo_id = :todoId and collaborator_id = :userId",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_collaborator"))
+    int deleteCollaborator(long todoId, long userId);
+
 }
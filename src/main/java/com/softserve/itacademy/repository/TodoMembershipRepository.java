@@ -0,0 +1,60 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.ToDoListItemDto;
+import com.softserve.itacademy.model.TodoMembership;
+import com.softserve.itacademy.model.TodoMembershipId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TodoMembershipRepository extends JpaRepository<TodoMembership, TodoMembershipId> {
+
+    @Query("select new com.softserve.itacademy.dto.ToDoListItemDto(t.id, t.title, t.createdAt, " +
+            "o.id, o.firstName, o.lastName) " +
+            "from TodoMembership m join m.todo t left join t.owner o " +
+            "where m.id.userId = :userId " +
+            "order by m.createdAt, m.id.todoId")
+    List<ToDoListItemDto> findFirstTodoPage(long userId, Limit limit);
+
+    /**
+     * Todos of the user that come strictly after the (createdAt, todoId) cursor.
+     */
+    @Query("select new com.softserve.itacademy.dto.ToDoListItemDto(t.id, t.title, t.createdAt, " +
+            "o.id, o.firstName, o.lastName) " +
+            "from TodoMembership m join m.todo t left join t.owner o " +
+            "where m.id.userId = :userId " +
+            "and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id.todoId > :todoId)) " +
+            "order by m.createdAt, m.id.todoId")
+    List<ToDoListItemDto> findTodoPageAfter(long userId, LocalDateTime createdAt, long todoId, Limit limit);
+
+    @Modifying
+    @Query("update TodoMembership m set m.createdAt = :createdAt where m.id.todoId = :todoId")
+    int updateCreatedAt(long todoId, LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "insert into todo_membership (user_id, todo_id, role, created_at) " +
+            "select :userId, t.id, 'COLLABORATOR', t.created_at from todos t where t.id = :todoId and not exists " +
+            "(select 1 from todo_membership m where m.user_id = :userId and m.todo_id = t.id)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_membership"))
+    int insertCollaborator(long todoId, long userId);
+
+    @Modifying
+    @Query("delete from TodoMembership m where m.id.userId = :userId and m.id.todoId in :todoIds")
+    int deleteByUserIdAndTodoIds(long userId, Collection<Long> todoIds);
+
+    @Modifying
+    @Query("delete from TodoMembership m where m.id.todoId = :todoId " +
+            "and m.id.userId = :userId and m.role = com.softserve.itacademy.model.MembershipRole.COLLABORATOR")
+    int deleteCollaborator(long todoId, long userId);
+
+}
@@ -1,14 +1,80 @@
 package com.softserve.itacademy.repository;
 
+import com.softserve.itacademy.dto.userDto.UserSummaryDto;
 import com.softserve.itacademy.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
+    /**
+     * Case-insensitive, since {@link User#setEmail} stores e-mails lower-cased.
+     */
+    @Query("select u from User u where u.email = lower(:email)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    /**
+     * Users that are neither the owner nor a collaborator of the todo, nor waiting to be deleted,
+     * in the order of the (last_name, id) index.
+     */
+    @Query("select new com.softserve.itacademy.dto.userDto.UserSummaryDto(u.id, u.firstName, u.lastName) " +
+            "from User u " +
+            "where u.deletionRequestedAt is null " +
+            "and not exists (select 1 from ToDo t where t.id = :todoId and t.owner.id = u.id) " +
+            "and not exists (select 1 from ToDo t join t.collaborators c where t.id = :todoId and c.id = u.id) " +
+            "order by u.lastName, u.id")
+    Slice<UserSummaryDto> findCollaboratorCandidates(long todoId, Pageable pageable);
+
+    /**
+     * As {@link #findCollaboratorCandidates(long, Pageable)}, keeping users whose last name or e-mail
+     * starts with the given prefix. The prefixes must already be in the stored form of each column
+     * and escaped, so both stay index range scans.
+     */
+    @Query("select new com.softserve.itacademy.dto.userDto.UserSummaryDto(u.id, u.firstName, u.lastName) " +
+            "from User u " +
+            "where u.deletionRequestedAt is null " +
+            "and (u.lastName like :namePrefix escape '\\' or u.email like :emailPrefix escape '\\') " +
+            "and not exists (select 1 from ToDo t where t.id = :todoId and t.owner.id = u.id) " +
+            "and not exists (select 1 from ToDo t join t.collaborators c where t.id = :todoId and c.id = u.id) " +
+            "order by u.lastName, u.id")
+    Slice<UserSummaryDto> findCollaboratorCandidates(long todoId, String namePrefix, String emailPrefix,
+                                                     Pageable pageable);
+
+    /**
+     * Deletes the user in one statement; the todos they own (with their tasks), their
+     * collaborator and membership rows go with it through the ON DELETE CASCADE foreign keys.
+     * The users space evicts cached users and every cached collection that holds them,
+     * so ToDo.collaborators lists never point at the deleted user.
+     */
+    @Modifying
+    @Query(value = "delete from users where id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    int deleteDirectlyById(long id);
+
+    @Query("select new com.softserve.itacademy.dto.userDto.UserSummaryDto(u.id, u.firstName, u.lastName) " +
+            "from User u where u.id = :id")
+    Optional<UserSummaryDto> findSummaryById(long id);
+
+    @Modifying
+    @Query("update User u set u.deletionRequestedAt = :requestedAt, u.version = u.version + 1 " +
+            "where u.id = :id and u.deletionRequestedAt is null")
+    int markForDeletion(long id, LocalDateTime requestedAt);
+
+    @Query("select u.id from User u where u.deletionRequestedAt is not null order by u.deletionRequestedAt, u.id")
+    List<Long> findIdsPendingDeletion(Limit limit);
+
 }
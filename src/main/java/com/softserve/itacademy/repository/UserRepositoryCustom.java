@@ -0,0 +1,18 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.userDto.UserListCursor;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Up to {@code limit} users in the given order, strictly after {@code after} if it is not null.
+     * A non-null {@code prefix} (already escaped for LIKE) keeps only users whose sort key starts
+     * with it; for {@link UserListSort#ID} it is matched against the e-mail.
+     */
+    List<UserListItemDto> findListPage(UserListSort sort, String prefix, UserListCursor after, int limit);
+
+}
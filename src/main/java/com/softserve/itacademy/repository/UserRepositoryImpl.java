@@ -0,0 +1,55 @@
+package com.softserve.itacademy.repository;
+
+import com.softserve.itacademy.dto.userDto.UserListCursor;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
+import com.softserve.itacademy.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserListItemDto> findListPage(UserListSort sort, String prefix, UserListCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserListItemDto> query = cb.createQuery(UserListItemDto.class);
+        Root<User> user = query.from(User.class);
+        Path<Long> id = user.get("id");
+        Path<String> key = switch (sort) {
+            case LAST_NAME -> user.get("lastName");
+            case EMAIL, ID -> user.get("email");
+        };
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.isNull(user.get("deletionRequestedAt")));
+        if (prefix != null) {
+            where.add(cb.like(key, prefix + "%", '\\'));
+        }
+        if (after != null) {
+            where.add(sort == UserListSort.ID
+                    ? cb.greaterThan(id, after.id())
+                    : cb.or(cb.greaterThan(key, after.key()),
+                            cb.and(cb.equal(key, after.key()), cb.greaterThan(id, after.id()))));
+        }
+
+        query.select(cb.construct(UserListItemDto.class,
+                        id, user.get("firstName"), user.get("lastName"), user.get("email")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(sort == UserListSort.ID
+                        ? List.of(cb.asc(id))
+                        : List.of(cb.asc(key), cb.asc(id)));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
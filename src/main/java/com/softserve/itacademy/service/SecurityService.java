@@ -1,7 +1,7 @@
 package com.softserve.itacademy.service;
 
-import com.softserve.itacademy.model.ToDo;
-import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.config.security.AuthenticatedUser;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -10,24 +10,25 @@ import org.springframework.stereotype.Service;
 public class SecurityService {
     private final ToDoService toDoService;
     private final UserService userService;
+    private final TodoAccessIndex accessIndex;
 
     public boolean isTodoOwner(Long id) {
-        User currentUser = userService.getCurrentUser();
-        ToDo toDo = toDoService.readById(id);
-        return toDo.getOwner().getId() == currentUser.getId();
+        AuthenticatedUser currentUser = userService.getCurrentUser();
+        return accessIndex.find(id)
+                .map(access -> access.isOwner(currentUser.id()))
+                .orElseGet(() -> toDoService.isOwner(id, currentUser.id()));
     }
 
     public boolean isOwnerOrCollaborator(Long todoId) {
-        User currentUser = userService.getCurrentUser();
-        ToDo toDo = toDoService.readById(todoId);
-        return toDo.getOwner().getId() == currentUser.getId()
-               || toDo.getCollaborators().stream()
-                       .anyMatch(collaborator -> collaborator.getId() == currentUser.getId());
+        AuthenticatedUser currentUser = userService.getCurrentUser();
+        return accessIndex.find(todoId)
+                .map(access -> access.isOwnerOrCollaborator(currentUser.id()))
+                .orElseGet(() -> toDoService.isVisibleTo(todoId, currentUser.id()));
     }
 
     public boolean isCurrentUserAndOwner(Long userId) {
-        User currentUser = userService.getCurrentUser();
-        return currentUser.getId() == userId;
+        AuthenticatedUser currentUser = userService.getCurrentUser();
+        return currentUser.id() == userId;
     }
 
 }
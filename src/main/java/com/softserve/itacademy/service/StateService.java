@@ -4,35 +4,43 @@ import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
 import com.softserve.itacademy.dto.StateDto;
 import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.service.cache.StateRegistry;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class StateService {
 
     private final StateRepository stateRepository;
+    private final StateRegistry stateRegistry;
+    private final InvalidationBus invalidationBus;
 
     public State create(State state) {
         if (state != null) {
-            return stateRepository.save(state);
+            State saved = stateRepository.save(state);
+            changed(saved.getId());
+            return saved;
         }
         throw new NullEntityReferenceException("State cannot be 'null'");
     }
 
     public State readById(long id) {
-        return stateRepository.findById(id).orElseThrow(
+        return stateRegistry.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("State with id " + id + " not found"));
     }
 
     public State update(State state) {
         if (state != null) {
             readById(state.getId());
-            return stateRepository.save(state);
+            State updated = stateRepository.save(state);
+            changed(updated.getId());
+            return updated;
         }
         throw new NullEntityReferenceException("State cannot be 'null'");
     }
@@ -40,29 +48,33 @@ public class StateService {
     public void delete(long id) {
         State state = readById(id);
         stateRepository.delete(state);
+        changed(id);
     }
 
     public List<State> getAll() {
-        return stateRepository.findAllByOrderById();
+        return stateRegistry.getAll();
     }
 
     public State getByName(String name) {
-        Optional<State> optional = Optional.ofNullable(stateRepository.findByName(name));
-        if (optional.isPresent()) {
-            return optional.get();
-        }
-        throw new EntityNotFoundException("State with name '" + name + "' not found");
+        return stateRegistry.findByName(name).orElseThrow(
+                () -> new EntityNotFoundException("State with name '" + name + "' not found"));
     }
 
     public List<StateDto> findAll() {
-        return stateRepository.findAll()
+        return stateRegistry.getAll()
                 .stream()
                 .map(this::toDto)
                 .toList();
     }
 
+    private void changed(long id) {
+        stateRegistry.refresh();
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.STATE, id));
+    }
+
     private StateDto toDto(State state) {
         return StateDto.builder()
+                .id(state.getId())
                 .name(state.getName())
                 .build();
     }
@@ -2,38 +2,65 @@ package com.softserve.itacademy.service;
 
 import com.softserve.itacademy.dto.TaskTransformer;
 import com.softserve.itacademy.dto.TaskDto;
+import com.softserve.itacademy.dto.TaskListItemDto;
+import com.softserve.itacademy.dto.TaskOperationDto;
+import com.softserve.itacademy.dto.TaskOperationResultDto;
+import com.softserve.itacademy.dto.TaskOperationResultDto.Status;
+import com.softserve.itacademy.dto.TaskPatchDto;
+import com.softserve.itacademy.dto.TaskVersionDto;
+import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.model.Task;
-import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.repository.ToDoRepository;
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
 import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.service.cache.SingleFlight;
+import com.softserve.itacademy.service.cache.StateRegistry;
+import com.softserve.itacademy.service.merge.EditBase;
+import com.softserve.itacademy.service.merge.MergeRetry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TaskService {
 
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final int IN_CLAUSE_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final ToDoRepository toDoRepository;
-    private final StateRepository stateRepository;
+    private final StateRegistry stateRegistry;
     private final TaskTransformer taskTransformer;
+    private final SingleFlight<Long, List<TaskListItemDto>> taskLoads = new SingleFlight<>();
 
     public TaskDto create(TaskDto taskDto) {
         Task task = taskTransformer.fillEntityFields(
                 new Task(),
                 taskDto,
                 toDoRepository.findById(taskDto.getTodoId()).orElseThrow(),
-                stateRepository.findByName("New")
+                stateRegistry.findByName("New").orElse(null)
         );
 
         if (task != null) {
             Task savedTask = taskRepository.save(task);
+            taskLoads.forget(taskDto.getTodoId());
             return taskTransformer.convertToDto(savedTask);
         }
         throw new NullEntityReferenceException("Task cannot be 'null'");
@@ -48,17 +75,59 @@ public class TaskService {
                 () -> exception);
     }
 
+    /**
+     * The task, provided it belongs to {@code todoId} and the user may see that to-do.
+     */
+    public Task readVisibleTo(long id, long todoId, long userId) {
+        return taskRepository.findByIdVisibleTo(id, todoId, userId).orElseThrow(
+                () -> new EntityNotFoundException("Task with id " + id + " not found"));
+    }
+
     public Task update(Task task) {
         if (task != null) {
             readById(task.getId());
-            return taskRepository.save(task);
+            Task saved = taskRepository.save(task);
+            forgetTasksOf(saved);
+            return saved;
         }
         throw new NullEntityReferenceException("Task cannot be 'null'");
     }
 
-    public void delete(long id) {
-        Task task = readById(id);
-        taskRepository.delete(task);
+    /**
+     * Saves an edit made against {@code task.getVersion()}, merging it into the latest
+     * version if another edit of different fields got there first.
+     */
+    public Task update(Task task, EditBase base) {
+        Task saved = MergeRetry.run(base, () -> update(task), () -> taskRepository.saveAndFlush(rebase(task, base)));
+        forgetTasksOf(saved);
+        return saved;
+    }
+
+    private Task rebase(Task edited, EditBase base) {
+        Task latest = readById(edited.getId());
+        latest.setName(base.merge("name", edited.getName(), latest.getName()));
+        latest.setPriority(base.merge("priority", edited.getPriority(), latest.getPriority()));
+        Long stateId = base.merge("stateId", stateId(edited), stateId(latest));
+        if (!Objects.equals(stateId, stateId(latest))) {
+            latest.setState(edited.getState());
+        }
+        return latest;
+    }
+
+    private static Long stateId(Task task) {
+        return task.getState() == null ? null : task.getState().getId();
+    }
+
+    /**
+     * Deletes the task, provided it belongs to {@code todoId}.
+     */
+    @Transactional
+    public void delete(long id, long todoId) {
+        int deleted = taskRepository.deleteInTodo(todoId, List.of(id));
+        taskLoads.forget(todoId);
+        if (deleted == 0) {
+            throw new EntityNotFoundException("Task with id " + id + " not found");
+        }
     }
 
     public List<Task> getAll() {
@@ -68,4 +137,152 @@ public class TaskService {
     public List<Task> getByTodoId(long todoId) {
         return taskRepository.getByTodoId(todoId);
     }
+
+    /**
+     * The rows of the to-do's task table. Concurrent reads of the same to-do share one query,
+     * copied into {@link TaskListItemDto}s before they are handed out.
+     */
+    public List<TaskListItemDto> getListItemsByTodoId(long todoId) {
+        return taskLoads.load(todoId,
+                () -> taskRepository.getByTodoId(todoId).stream().map(TaskListItemDto::of).toList());
+    }
+
+    private void forgetTasksOf(Task task) {
+        if (task.getTodo() != null) {
+            taskLoads.forget(task.getTodo().getId());
+        }
+    }
+
+    /**
+     * Changes only the supplied fields with a single versioned UPDATE and returns the new version.
+     * A version mismatch on an existing task is reported as an optimistic locking failure.
+     */
+    @Transactional
+    public TaskVersionDto patch(long todoId, long taskId, TaskPatchDto patch) {
+        State state = patch.getStateId() == null ? null : stateRegistry.findById(patch.getStateId()).orElseThrow(
+                () -> new EntityNotFoundException("State with id " + patch.getStateId() + " not found"));
+        TaskPriority priority = patch.getPriority() == null ? null : TaskPriority.valueOf(patch.getPriority());
+
+        int updated = taskRepository.patch(todoId, taskId, patch.getVersion(), patch.getName(), priority, state);
+        taskLoads.forget(todoId);
+        if (updated == 0) {
+            if (taskRepository.findIdsInTodo(todoId, List.of(taskId)).isEmpty()) {
+                throw new EntityNotFoundException("Task with id " + taskId + " not found");
+            }
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
+        return new TaskVersionDto(taskId, patch.getVersion() + 1);
+    }
+
+    /**
+     * Applies a batch of operations to the tasks of one todo in a single transaction.
+     * Creates are inserted in JDBC batches, state changes run as one UPDATE per target state
+     * and deletes as one DELETE, in that order. Entries that are malformed or refer to tasks
+     * outside the todo are reported in the result and do not abort the rest of the batch.
+     */
+    @Transactional
+    public List<TaskOperationResultDto> applyBatch(long todoId, List<TaskOperationDto> operations) {
+        ToDo todo = toDoRepository.findById(todoId).orElseThrow(
+                () -> new EntityNotFoundException("ToDo with id " + todoId + " not found"));
+        taskLoads.forget(todoId);
+
+        TaskOperationResultDto[] results = new TaskOperationResultDto[operations.size()];
+        Map<Integer, Task> creates = new LinkedHashMap<>();
+        Map<State, Map<Integer, Long>> stateUpdates = new LinkedHashMap<>();
+        Map<Integer, Long> deletes = new LinkedHashMap<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            TaskOperationDto operation = operations.get(i);
+            TaskDto taskDto = operation == null ? null : operation.getTask();
+            if (taskDto == null || operation.getOp() == null) {
+                results[i] = result(i, operation, null, Status.INVALID, "Operation and task are required");
+                continue;
+            }
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    String error = validateCreate(taskDto);
+                    Optional<State> state = taskDto.getStateId() > 0
+                            ? stateRegistry.findById(taskDto.getStateId())
+                            : stateRegistry.findByName("New");
+                    if (error == null && taskDto.getStateId() > 0 && state.isEmpty()) {
+                        error = "State with id " + taskDto.getStateId() + " not found";
+                    }
+                    if (error != null) {
+                        results[i] = result(i, operation, null, Status.INVALID, error);
+                    } else {
+                        Task task = new Task();
+                        task.setName(taskDto.getName());
+                        task.setPriority(TaskPriority.valueOf(taskDto.getPriority()));
+                        task.setTodo(todo);
+                        task.setState(state.orElse(null));
+                        creates.put(i, task);
+                    }
+                }
+                case UPDATE_STATE -> {
+                    Optional<State> state = stateRegistry.findById(taskDto.getStateId());
+                    if (taskDto.getId() <= 0 || state.isEmpty()) {
+                        results[i] = result(i, operation, taskDto.getId(), Status.INVALID,
+                                "A task id and an existing state id are required");
+                    } else {
+                        stateUpdates.computeIfAbsent(state.get(), s -> new LinkedHashMap<>()).put(i, taskDto.getId());
+                    }
+                }
+                case DELETE -> {
+                    if (taskDto.getId() <= 0) {
+                        results[i] = result(i, operation, null, Status.INVALID, "A task id is required");
+                    } else {
+                        deletes.put(i, taskDto.getId());
+                    }
+                }
+            }
+        }
+
+        taskRepository.saveAll(creates.values());
+        creates.forEach((i, task) -> results[i] = result(i, operations.get(i), task.getId(), Status.CREATED, null));
+
+        Set<Long> requestedIds = new HashSet<>(deletes.values());
+        stateUpdates.values().forEach(updates -> requestedIds.addAll(updates.values()));
+        Set<Long> existingIds = new HashSet<>();
+        inChunks(List.copyOf(requestedIds), ids -> existingIds.addAll(taskRepository.findIdsInTodo(todoId, ids)));
+
+        stateUpdates.forEach((state, updates) -> {
+            inChunks(updates.values().stream().filter(existingIds::contains).distinct().toList(),
+                    ids -> taskRepository.updateStateInTodo(todoId, ids, state));
+            updates.forEach((i, id) -> results[i] = existingIds.contains(id)
+                    ? result(i, operations.get(i), id, Status.UPDATED, null)
+                    : result(i, operations.get(i), id, Status.NOT_FOUND, "Task with id " + id + " not found"));
+        });
+
+        inChunks(deletes.values().stream().filter(existingIds::contains).distinct().toList(),
+                ids -> taskRepository.deleteInTodo(todoId, ids));
+        deletes.forEach((i, id) -> results[i] = existingIds.contains(id)
+                ? result(i, operations.get(i), id, Status.DELETED, null)
+                : result(i, operations.get(i), id, Status.NOT_FOUND, "Task with id " + id + " not found"));
+
+        log.info("Applied batch of {} task operations to ToDo ID: {}", operations.size(), todoId);
+        return List.of(results);
+    }
+
+    private String validateCreate(TaskDto taskDto) {
+        if (taskDto.getName() == null || taskDto.getName().isBlank()) {
+            return "The 'name' cannot be empty";
+        }
+        try {
+            TaskPriority.valueOf(String.valueOf(taskDto.getPriority()));
+            return null;
+        } catch (IllegalArgumentException e) {
+            return "Unknown priority '" + taskDto.getPriority() + "'";
+        }
+    }
+
+    private static TaskOperationResultDto result(int index, TaskOperationDto operation, Long id,
+                                                 Status status, String message) {
+        return new TaskOperationResultDto(index, operation == null ? null : operation.getOp(), id, status, message);
+    }
+
+    private static void inChunks(List<Long> ids, Consumer<List<Long>> action) {
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            action.accept(ids.subList(from, Math.min(from + IN_CLAUSE_SIZE, ids.size())));
+        }
+    }
 }
\ No newline at end of file
@@ -1,44 +1,184 @@
 package com.softserve.itacademy.service;
 
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.ToDoCursor;
+import com.softserve.itacademy.dto.ToDoDetailsDto;
+import com.softserve.itacademy.dto.ToDoListItemDto;
+import com.softserve.itacademy.dto.ToDoSnapshot;
+import com.softserve.itacademy.model.MembershipRole;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.TodoMembership;
+import com.softserve.itacademy.model.TodoMembershipId;
+import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.TodoMembershipRepository;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.cache.RequestEntityCache;
+import com.softserve.itacademy.service.cache.SingleFlight;
+import com.softserve.itacademy.service.merge.EditBase;
+import com.softserve.itacademy.service.merge.MergeRetry;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class ToDoService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ToDoRepository todoRepository;
+    private final RequestEntityCache requestCache;
+    private final TodoAccessIndex accessIndex;
+    private final TodoMembershipRepository membershipRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntitySnapshotCache snapshotCache;
+    private final SingleFlight<Long, Optional<ToDoDetailsDto>> todoLoads = new SingleFlight<>();
 
-    public ToDoService(ToDoRepository todoRepository) {
+    public ToDoService(ToDoRepository todoRepository, RequestEntityCache requestCache, TodoAccessIndex accessIndex,
+                       TodoMembershipRepository membershipRepository, TransactionTemplate transactionTemplate,
+                       EntitySnapshotCache snapshotCache) {
         this.todoRepository = todoRepository;
+        this.requestCache = requestCache;
+        this.accessIndex = accessIndex;
+        this.membershipRepository = membershipRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotCache = snapshotCache;
     }
 
+    @Transactional
     public ToDo create(ToDo todo) {
         if (todo != null) {
-            return todoRepository.save(todo);
+            ToDo saved = todoRepository.save(todo);
+            if (saved.getOwner() != null) {
+                membershipRepository.save(new TodoMembership(saved, saved.getOwner(), MembershipRole.OWNER));
+            }
+            if (saved.getCollaborators() != null) {
+                saved.getCollaborators().forEach(collaborator -> addMembership(saved, collaborator));
+            }
+            accessIndex.put(saved);
+            return saved;
         }
         throw new NullEntityReferenceException("ToDo cannot be 'null'");
     }
 
     public ToDo readById(long id) {
-        return todoRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("ToDo with id " + id + " not found"));
+        return requestCache.get(ToDo.class, id, () -> todoRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("ToDo with id " + id + " not found")));
+    }
+
+    /**
+     * Read-only view of the to-do, served from {@link EntitySnapshotCache}. Use {@link #readById(long)}
+     * when the to-do is going to be modified or linked to another entity.
+     */
+    public ToDoSnapshot readSnapshot(long id) {
+        return snapshotCache.getTodo(id);
+    }
+
+    /**
+     * Concurrent reads of the same to-do share one query, whoever is reading it, and visibility
+     * is checked on the shared result. A large team opening the to-do at once costs one fetch.
+     * The loader copies the to-do into a {@link ToDoDetailsDto}, so no request gets an entity
+     * attached to another request's session.
+     */
+    public ToDoDetailsDto readVisibleTo(long id, long userId) {
+        return todoLoads.load(id, () -> todoRepository.findWithCollaboratorsById(id).map(ToDoDetailsDto::of))
+                .filter(todo -> todo.involves(userId))
+                .orElseThrow(() -> new EntityNotFoundException("ToDo with id " + id + " not found"));
+    }
+
+    public boolean isVisibleTo(long id, long userId) {
+        return todoRepository.existsVisibleTo(id, userId);
     }
 
+    public boolean isOwner(long id, long userId) {
+        return todoRepository.existsByIdAndOwnerId(id, userId);
+    }
+
+    @Transactional
     public ToDo update(ToDo todo) {
         if (todo != null) {
-            readById(todo.getId());
-            return todoRepository.save(todo);
+            ToDo oldTodo = readById(todo.getId());
+            LocalDateTime oldCreatedAt = oldTodo.getCreatedAt();
+            requestCache.evict(ToDo.class, todo.getId());
+            snapshotCache.evictTodo(todo.getId());
+            todoLoads.forget(todo.getId());
+            ToDo updated = todoRepository.save(todo);
+            if (!Objects.equals(oldCreatedAt, updated.getCreatedAt())) {
+                membershipRepository.updateCreatedAt(updated.getId(), updated.getCreatedAt());
+            }
+            return updated;
         }
         throw new NullEntityReferenceException("ToDo cannot be 'null'");
     }
 
+    /**
+     * Saves an edit made against {@code todo.getVersion()}, merging it into the latest
+     * version if another edit got there first.
+     */
+    public ToDo update(ToDo todo, EditBase base) {
+        return MergeRetry.run(base,
+                () -> transactionTemplate.execute(status -> update(todo)),
+                () -> todoRepository.saveAndFlush(rebase(todo, base)));
+    }
+
+    private ToDo rebase(ToDo edited, EditBase base) {
+        requestCache.evict(ToDo.class, edited.getId());
+        snapshotCache.evictTodo(edited.getId());
+        todoLoads.forget(edited.getId());
+        ToDo latest = todoRepository.findById(edited.getId()).orElseThrow(
+                () -> new EntityNotFoundException("ToDo with id " + edited.getId() + " not found"));
+        latest.setTitle(base.merge("title", edited.getTitle(), latest.getTitle()));
+        return latest;
+    }
+
+    @Transactional
     public void delete(long id) {
-        ToDo todo = readById(id);
-        todoRepository.delete(todo);
+        requestCache.evict(ToDo.class, id);
+        snapshotCache.evictTodo(id);
+        todoLoads.forget(id);
+        if (todoRepository.deleteDirectlyById(id) == 0) {
+            throw new EntityNotFoundException("ToDo with id " + id + " not found");
+        }
+        accessIndex.remove(id);
+    }
+
+    /**
+     * Writes the todo_collaborator and todo_membership rows directly, without loading the
+     * to-do or its collaborators, so the cost does not grow with the number of collaborators.
+     * Adding an existing collaborator is a no-op, also when two requests add the same one at once:
+     * the to-do row is locked first, so the second waits and then finds the row in place.
+     */
+    @Transactional
+    public void addCollaborator(long todoId, User collaborator) {
+        todoRepository.lockById(todoId)
+                .orElseThrow(() -> new EntityNotFoundException("ToDo with id " + todoId + " not found"));
+        if (todoRepository.insertCollaborator(todoId, collaborator.getId()) > 0) {
+            membershipRepository.insertCollaborator(todoId, collaborator.getId());
+        }
+        requestCache.evict(ToDo.class, todoId);
+        snapshotCache.evictTodo(todoId);
+        todoLoads.forget(todoId);
+        accessIndex.addCollaborator(todoId, collaborator.getId());
+    }
+
+    @Transactional
+    public void removeCollaborator(long todoId, User collaborator) {
+        if (todoRepository.deleteCollaborator(todoId, collaborator.getId()) > 0) {
+            membershipRepository.deleteCollaborator(todoId, collaborator.getId());
+        }
+        requestCache.evict(ToDo.class, todoId);
+        snapshotCache.evictTodo(todoId);
+        todoLoads.forget(todoId);
+        accessIndex.removeCollaborator(todoId, collaborator.getId());
     }
 
     public List<ToDo> getAll() {
@@ -48,4 +188,29 @@ public class ToDoService {
     public List<ToDo> getByUserId(long userId) {
         return todoRepository.getByUserId(userId);
     }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ToDoListItemDto> getPageByUserId(long userId, String after, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<ToDoListItemDto> todos;
+        if (after == null || after.isBlank()) {
+            todos = membershipRepository.findFirstTodoPage(userId, limit);
+        } else {
+            ToDoCursor cursor = ToDoCursor.decode(after);
+            todos = membershipRepository.findTodoPageAfter(userId, cursor.createdAt(), cursor.id(), limit);
+        }
+
+        if (todos.size() <= pageSize) {
+            return new KeysetPage<>(todos, null);
+        }
+        List<ToDoListItemDto> content = todos.subList(0, pageSize);
+        return new KeysetPage<>(content, ToDoCursor.of(content.get(pageSize - 1)).encode());
+    }
+
+    private void addMembership(ToDo todo, User user) {
+        if (!membershipRepository.existsById(new TodoMembershipId(user.getId(), todo.getId()))) {
+            membershipRepository.save(new TodoMembership(todo, user, MembershipRole.COLLABORATOR));
+        }
+    }
 }
@@ -1,67 +1,227 @@
 package com.softserve.itacademy.service;
 
+import com.softserve.itacademy.config.security.VerifiedCredentialCache;
+import com.softserve.itacademy.config.security.AuthenticatedUser;
 import com.softserve.itacademy.config.security.WebAuthenticationToken;
 import com.softserve.itacademy.dto.userDto.UpdateUserDto;
 import com.softserve.itacademy.model.UserRole;
 import com.softserve.itacademy.dto.userDto.UserDto;
 import com.softserve.itacademy.dto.userDto.UserDtoConverter;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.userDto.UserListCursor;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
+import com.softserve.itacademy.dto.userDto.UserSnapshot;
+import com.softserve.itacademy.dto.userDto.UserSummaryDto;
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.cache.RequestEntityCache;
+import com.softserve.itacademy.service.merge.EditBase;
+import com.softserve.itacademy.service.merge.MergeRetry;
+import com.softserve.itacademy.service.purge.UserDeletionRequested;
+import com.softserve.itacademy.service.purge.UserPurgeJob;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final int CANDIDATES_PAGE_SIZE = 20;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final UserDtoConverter userDtoConverter;
+    private final VerifiedCredentialCache credentialCache;
+    private final RequestEntityCache requestCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntitySnapshotCache snapshotCache;
+    private final PasswordEncoder passwordEncoder;
 
-    public User create(User role) {
-        if (role != null) {
-            return userRepository.save(role);
+    /**
+     * Saves a new user, hashing the raw password it was given.
+     */
+    @Transactional
+    public User create(User user) {
+        if (user != null) {
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            User created = userRepository.save(user);
+            credentialCache.evict(created.getEmail());
+            snapshotCache.evictUser(created.getId());
+            return created;
         }
         throw new NullEntityReferenceException("User cannot be 'null'");
     }
 
     public User readById(long id) {
-        return userRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("User with id " + id + " not found"));
+        return requestCache.get(User.class, id, () -> userRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("User with id " + id + " not found")));
+    }
+
+    /**
+     * Read-only view of the user, served from {@link EntitySnapshotCache}. Use {@link #readById(long)}
+     * when the user is going to be modified or linked to another entity.
+     */
+    public UserSnapshot readSnapshot(long id) {
+        return snapshotCache.getUser(id);
+    }
+
+    /**
+     * The user as they are now, or empty once they are deleted or marked for deletion.
+     * API tokens are checked against it on every request, so a demotion or a deletion
+     * request takes effect before the token expires. Served from {@link EntitySnapshotCache}.
+     */
+    public Optional<AuthenticatedUser> findActive(long id) {
+        try {
+            UserSnapshot user = snapshotCache.getUser(id);
+            return user.enabled()
+                    ? Optional.of(new AuthenticatedUser(user.id(), user.email(), user.role(), user.firstName()))
+                    : Optional.empty();
+        } catch (EntityNotFoundException e) {
+            return Optional.empty();
+        }
     }
 
     public UserDto update(UpdateUserDto updateUserDto) {
+        return update(updateUserDto, EditBase.none());
+    }
+
+    /**
+     * Saves an edit made against {@code updateUserDto.getVersion()}, merging it into the latest
+     * version if another edit of different fields got there first. A {@code null} version skips the check.
+     */
+    public UserDto update(UpdateUserDto updateUserDto, EditBase base) {
+        return MergeRetry.run(base,
+                () -> save(updateUserDto, user -> {
+                    if (updateUserDto.getVersion() != null && updateUserDto.getVersion() != user.getVersion()) {
+                        throw new ObjectOptimisticLockingFailureException(User.class, user.getId());
+                    }
+                    userDtoConverter.fillFields(user, updateUserDto);
+                }),
+                () -> save(updateUserDto, user -> {
+                    user.setFirstName(base.merge("firstName", updateUserDto.getFirstName(), user.getFirstName()));
+                    user.setLastName(base.merge("lastName", updateUserDto.getLastName(), user.getLastName()));
+                    user.setEmail(base.merge("email", updateUserDto.getEmail(), user.getEmail()));
+                }));
+    }
+
+    private UserDto save(UpdateUserDto updateUserDto, Consumer<User> changes) {
         User user = userRepository.findById(updateUserDto.getId()).orElseThrow(EntityNotFoundException::new);
+        String oldEmail = user.getEmail();
+        changes.accept(user);
         if (user.getRole() == UserRole.ADMIN) {
             user.setRole(updateUserDto.getRole());
         }
-        userDtoConverter.fillFields(user, updateUserDto);
-        userRepository.save(user);
+        credentialCache.evict(oldEmail);
+        requestCache.evict(User.class, user.getId());
+        userRepository.saveAndFlush(user);
+        snapshotCache.evictUser(user.getId(), user.getVersion());
         return userDtoConverter.toDto(user);
     }
 
-    public void delete(long id) {
+    /**
+     * Sets a new password, provided {@code oldPassword} is the current one.
+     *
+     * @return the user, or empty if there is no such user or the old password is wrong
+     */
+    @Transactional
+    public Optional<User> changePassword(String username, String oldPassword, String newPassword) {
+        return userRepository.findByEmail(username)
+                .filter(user -> passwordEncoder.matches(oldPassword, user.getPassword()))
+                .map(user -> {
+                    user.setPassword(passwordEncoder.encode(newPassword));
+                    credentialCache.evict(user.getEmail());
+                    requestCache.evict(User.class, user.getId());
+                    userRepository.saveAndFlush(user);
+                    snapshotCache.evictUser(user.getId(), user.getVersion());
+                    return user;
+                });
+    }
+
+    /**
+     * Marks the user for deletion; from here on they cannot sign in. The rows themselves
+     * are removed in the background by {@link UserPurgeJob} once this transaction commits.
+     */
+    @Transactional
+    public void requestDeletion(long id) {
         User user = readById(id);
-        userRepository.delete(user);
+        credentialCache.evict(user.getEmail());
+        requestCache.evict(User.class, id);
+        snapshotCache.evictUser(id);
+        if (userRepository.markForDeletion(id, LocalDateTime.now()) > 0) {
+            eventPublisher.publishEvent(new UserDeletionRequested(id));
+        }
     }
 
     public List<User> getAll() {
         return userRepository.findAll();
     }
 
+    /**
+     * One page of the admin users list, without users waiting to be deleted. {@code query}, if not
+     * blank, keeps users whose sort key (the e-mail when sorting by id) starts with it, ignoring case.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<UserListItemDto> getListPage(UserListSort sort, String query, String after, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        UserListCursor cursor = after == null || after.isBlank() ? null : UserListCursor.decode(after, sort);
+        String prefix = query == null || query.isBlank() ? null : escapeLike(normalizeKey(sort, query.trim()));
+        List<UserListItemDto> users = userRepository.findListPage(sort, prefix, cursor, pageSize + 1);
+
+        if (users.size() <= pageSize) {
+            return new KeysetPage<>(users, null);
+        }
+        List<UserListItemDto> content = users.subList(0, pageSize);
+        return new KeysetPage<>(content, UserListCursor.of(sort, content.get(pageSize - 1)).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public UserSummaryDto getSummary(long id) {
+        return userRepository.findSummaryById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User with id " + id + " not found"));
+    }
+
     public Optional<User> findByUsername(String username) {
         return userRepository.findByEmail(username);
     }
 
-    public User getCurrentUser() {
+    /**
+     * Users that may be added to the todo. {@code query}, if not blank, keeps users whose
+     * last name or e-mail starts with it, ignoring case.
+     */
+    public Slice<UserSummaryDto> getCollaboratorCandidates(long todoId, String query, int page) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), CANDIDATES_PAGE_SIZE);
+        if (query == null || query.isBlank()) {
+            return userRepository.findCollaboratorCandidates(todoId, pageRequest);
+        }
+        String trimmed = query.trim();
+        return userRepository.findCollaboratorCandidates(todoId,
+                escapeLike(normalizeKey(UserListSort.LAST_NAME, trimmed)) + "%",
+                escapeLike(normalizeKey(UserListSort.EMAIL, trimmed)) + "%",
+                pageRequest);
+    }
+
+    public AuthenticatedUser getCurrentUser() {
         WebAuthenticationToken authentication
                 = (WebAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        return (User) authentication.getDetails();
+        return authentication.getUser();
     }
 
     public Optional<UserDto> findById(long id) {
@@ -76,4 +236,21 @@ public class UserService {
         return userRepository.findAll().stream().map(userDtoConverter::toDto).toList();
     }
 
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Brings a filter to the form keys are stored in, so the prefix match stays an index range scan:
+     * e-mails are lower-case and names are validated as a capital letter followed by lower-case ones.
+     */
+    private static String normalizeKey(UserListSort sort, String query) {
+        if (sort != UserListSort.LAST_NAME) {
+            return query.toLowerCase(Locale.ROOT);
+        }
+        return query.substring(0, 1).toUpperCase(Locale.ROOT) + query.substring(1).toLowerCase(Locale.ROOT);
+    }
 }
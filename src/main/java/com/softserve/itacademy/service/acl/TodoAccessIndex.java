@@ -0,0 +1,370 @@
+package com.softserve.itacademy.service.acl;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the todo membership tables used by authorization checks.
+ * Reads are lock-free map lookups; writes are serialized and replace the affected
+ * entries with new immutable values, so readers never observe a half-applied change.
+ * A change made inside a transaction is applied once it commits, so a rolled-back
+ * grant is never visible and a rolled-back revocation is never lost.
+ * Changes made on other nodes arrive through the {@link InvalidationBus}: a changed to-do
+ * is reloaded from the tables and a deleted user is dropped.
+ */
+@Slf4j
+@Component
+public class TodoAccessIndex {
+
+    private static final long NO_OWNER = 0L;
+    private static final long[] EMPTY = new long[0];
+    private static final int RELOAD_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private long modifications;
+
+    public TodoAccessIndex(JdbcTemplate jdbcTemplate, InvalidationBus invalidationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        modifications++;
+        snapshot = load();
+        log.info("Todo access index built: {} todos, {} users", snapshot.todos().size(), snapshot.todosByUser().size());
+    }
+
+    public Optional<TodoAccess> find(long todoId) {
+        return Optional.ofNullable(snapshot.todos().get(todoId));
+    }
+
+    public long[] getTodoIds(long userId) {
+        return snapshot.todosByUser().getOrDefault(userId, EMPTY).clone();
+    }
+
+    public TodoAccess put(ToDo todo) {
+        long todoId = todo.getId();
+        long ownerId = todo.getOwner() != null ? todo.getOwner().getId() : NO_OWNER;
+        long[] collaboratorIds = todo.getCollaborators() == null ? EMPTY : todo.getCollaborators().stream()
+                .mapToLong(User::getId)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        TodoAccess access = new TodoAccess(ownerId, collaboratorIds);
+        afterCommit(() -> applyPut(todoId, access));
+        return access;
+    }
+
+    public void remove(long todoId) {
+        afterCommit(() -> applyRemove(todoId));
+    }
+
+    public void addCollaborator(long todoId, long userId) {
+        afterCommit(() -> applyAddCollaborator(todoId, userId));
+    }
+
+    public void removeCollaborator(long todoId, long userId) {
+        afterCommit(() -> applyRemoveCollaborator(todoId, userId));
+    }
+
+    /**
+     * Drops a deleted user together with the todos they owned.
+     */
+    public void removeUser(long userId) {
+        afterCommit(() -> applyRemoveUser(userId));
+    }
+
+    private void apply(EntityChange change) {
+        switch (change.type()) {
+            case TODO -> reload(change.id());
+            case DELETED_USER -> applyRemoveUser(change.id());
+            case USER -> {
+            }
+        }
+    }
+
+    /**
+     * Replaces the entry of one to-do with what the tables hold now. Like {@link #verify()}, the
+     * tables are read without the write lock, and a read that raced another change is repeated.
+     */
+    private void reload(long todoId) {
+        for (int attempt = 0; attempt < RELOAD_ATTEMPTS; attempt++) {
+            long before;
+            synchronized (this) {
+                before = modifications;
+            }
+            Optional<TodoAccess> actual = load(todoId);
+            synchronized (this) {
+                if (before == modifications) {
+                    actual.ifPresentOrElse(access -> applyPut(todoId, access), () -> applyRemove(todoId));
+                    return;
+                }
+            }
+        }
+        log.debug("Todo {} kept changing while being reloaded, leaving it to verification", todoId);
+    }
+
+    private synchronized void applyPut(long todoId, TodoAccess access) {
+        modifications++;
+        applyRemove(todoId);
+        snapshot.todos().put(todoId, access);
+        if (access.ownerId() != NO_OWNER) {
+            link(access.ownerId(), todoId);
+        }
+        for (long collaboratorId : access.collaboratorIds()) {
+            link(collaboratorId, todoId);
+        }
+    }
+
+    private synchronized void applyRemove(long todoId) {
+        modifications++;
+        TodoAccess access = snapshot.todos().remove(todoId);
+        if (access != null) {
+            unlink(access.ownerId(), todoId);
+            for (long collaboratorId : access.collaboratorIds()) {
+                unlink(collaboratorId, todoId);
+            }
+        }
+    }
+
+    private synchronized void applyAddCollaborator(long todoId, long userId) {
+        modifications++;
+        snapshot.todos().computeIfPresent(todoId, (id, access) -> access.withCollaborator(userId));
+        link(userId, todoId);
+    }
+
+    private synchronized void applyRemoveCollaborator(long todoId, long userId) {
+        modifications++;
+        TodoAccess access = snapshot.todos().computeIfPresent(todoId, (id, current) -> current.withoutCollaborator(userId));
+        if (access == null || access.ownerId() != userId) {
+            unlink(userId, todoId);
+        }
+    }
+
+    private synchronized void applyRemoveUser(long userId) {
+        modifications++;
+        for (long todoId : getTodoIds(userId)) {
+            TodoAccess access = snapshot.todos().get(todoId);
+            if (access != null && access.ownerId() == userId) {
+                applyRemove(todoId);
+            } else {
+                applyRemoveCollaborator(todoId, userId);
+            }
+        }
+        snapshot.todosByUser().remove(userId);
+    }
+
+    @Scheduled(initialDelayString = "${acl.index.verify-interval:PT10M}",
+            fixedDelayString = "${acl.index.verify-interval:PT10M}")
+    public void verifyPeriodically() {
+        verify();
+    }
+
+    /**
+     * Compares the index with the tables and rebuilds it on any difference.
+     * The tables are read without holding the write lock; if the index changes
+     * meanwhile the comparison is inconclusive and is left to the next run.
+     *
+     * @return {@code false} if the index had diverged and was rebuilt
+     */
+    public boolean verify() {
+        long before;
+        synchronized (this) {
+            before = modifications;
+        }
+        Snapshot actual = load();
+        synchronized (this) {
+            if (before != modifications || actual.equals(snapshot)) {
+                return true;
+            }
+            modifications++;
+            log.warn("Todo access index diverged from the database (index: {} todos, database: {} todos), rebuilding",
+                    snapshot.todos().size(), actual.todos().size());
+            snapshot = actual;
+            return false;
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void link(long userId, long todoId) {
+        snapshot.todosByUser().compute(userId, (id, todoIds) -> LongSets.add(todoIds == null ? EMPTY : todoIds, todoId));
+    }
+
+    private void unlink(long userId, long todoId) {
+        snapshot.todosByUser().computeIfPresent(userId, (id, todoIds) -> {
+            long[] remaining = LongSets.remove(todoIds, todoId);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    private Optional<TodoAccess> load(long todoId) {
+        List<Long> owners = jdbcTemplate.queryForList("select owner_id from todos where id = ?", Long.class, todoId);
+        if (owners.isEmpty()) {
+            return Optional.empty();
+        }
+        long[] collaboratorIds = jdbcTemplate.queryForList(
+                        "select collaborator_id from todo_collaborator where todo_id = ?", Long.class, todoId)
+                .stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        Long ownerId = owners.get(0);
+        return Optional.of(new TodoAccess(ownerId == null ? NO_OWNER : ownerId, collaboratorIds));
+    }
+
+    private Snapshot load() {
+        Map<Long, Long> owners = new HashMap<>();
+        jdbcTemplate.query("select id, owner_id from todos",
+                rs -> {
+                    owners.put(rs.getLong("id"), rs.getLong("owner_id"));
+                });
+
+        Map<Long, long[]> collaborators = new HashMap<>();
+        jdbcTemplate.query("select todo_id, collaborator_id from todo_collaborator",
+                rs -> {
+                    collaborators.merge(rs.getLong("todo_id"), new long[]{rs.getLong("collaborator_id")},
+                            (current, added) -> LongSets.add(current, added[0]));
+                });
+
+        Map<Long, TodoAccess> todos = new ConcurrentHashMap<>();
+        Map<Long, long[]> todosByUser = new ConcurrentHashMap<>();
+        owners.forEach((todoId, ownerId) -> {
+            long[] collaboratorIds = collaborators.getOrDefault(todoId, EMPTY);
+            todos.put(todoId, new TodoAccess(ownerId, collaboratorIds));
+            if (ownerId != NO_OWNER) {
+                todosByUser.merge(ownerId, new long[]{todoId}, (current, added) -> LongSets.add(current, added[0]));
+            }
+            for (long collaboratorId : collaboratorIds) {
+                todosByUser.merge(collaboratorId, new long[]{todoId}, (current, added) -> LongSets.add(current, added[0]));
+            }
+        });
+        return new Snapshot(todos, todosByUser);
+    }
+
+    /**
+     * Owner and sorted collaborator ids of a single todo.
+     */
+    public record TodoAccess(long ownerId, long[] collaboratorIds) {
+
+        public boolean isOwner(long userId) {
+            return ownerId == userId;
+        }
+
+        public boolean isOwnerOrCollaborator(long userId) {
+            return ownerId == userId || LongSets.contains(collaboratorIds, userId);
+        }
+
+        TodoAccess withCollaborator(long userId) {
+            return new TodoAccess(ownerId, LongSets.add(collaboratorIds, userId));
+        }
+
+        TodoAccess withoutCollaborator(long userId) {
+            return new TodoAccess(ownerId, LongSets.remove(collaboratorIds, userId));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TodoAccess other
+                    && ownerId == other.ownerId
+                    && Arrays.equals(collaboratorIds, other.collaboratorIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(ownerId) + Arrays.hashCode(collaboratorIds);
+        }
+
+        @Override
+        public String toString() {
+            return "TodoAccess { ownerId = " + ownerId + ", collaboratorIds = " + Arrays.toString(collaboratorIds) + " }";
+        }
+    }
+
+    private record Snapshot(Map<Long, TodoAccess> todos, Map<Long, long[]> todosByUser) {
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Snapshot other) || !todos.equals(other.todos)
+                    || todosByUser.size() != other.todosByUser.size()) {
+                return false;
+            }
+            return todosByUser.entrySet().stream()
+                    .allMatch(entry -> Arrays.equals(entry.getValue(), other.todosByUser.get(entry.getKey())));
+        }
+
+        @Override
+        public int hashCode() {
+            return todos.hashCode();
+        }
+    }
+
+    /**
+     * Sorted {@code long[]} used as a compact, immutable set of ids.
+     */
+    static final class LongSets {
+
+        private LongSets() {
+        }
+
+        static boolean contains(long[] set, long value) {
+            return Arrays.binarySearch(set, value) >= 0;
+        }
+
+        static long[] add(long[] set, long value) {
+            int index = Arrays.binarySearch(set, value);
+            if (index >= 0) {
+                return set;
+            }
+            int insertAt = -index - 1;
+            long[] result = new long[set.length + 1];
+            System.arraycopy(set, 0, result, 0, insertAt);
+            result[insertAt] = value;
+            System.arraycopy(set, insertAt, result, insertAt + 1, set.length - insertAt);
+            return result;
+        }
+
+        static long[] remove(long[] set, long value) {
+            int index = Arrays.binarySearch(set, value);
+            if (index < 0) {
+                return set;
+            }
+            long[] result = new long[set.length - 1];
+            System.arraycopy(set, 0, result, 0, index);
+            System.arraycopy(set, index + 1, result, index, set.length - index - 1);
+            return result;
+        }
+    }
+}
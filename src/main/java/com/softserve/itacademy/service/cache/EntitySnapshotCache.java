@@ -0,0 +1,158 @@
+package com.softserve.itacademy.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.softserve.itacademy.dto.ToDoSnapshot;
+import com.softserve.itacademy.dto.userDto.UserSnapshot;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, process-wide cache of to-do and user snapshots for read-only views.
+ * Unlike {@link RequestEntityCache} it outlives the request, so it holds immutable
+ * records rather than entities. Services evict an entry whenever they change the row;
+ * the entry is dropped at once and again when the transaction completes, so a reader
+ * that raced the write cannot leave the old version behind. Every eviction is also published
+ * on the {@link InvalidationBus}, so the other nodes drop their copies once the write commits.
+ * Entries also expire after {@code snapshot-cache.ttl} to bound the damage of a write
+ * made outside the services or an invalidation that got lost.
+ * <p>
+ * The same evictions keep Hibernate's second-level cache right where Hibernate cannot:
+ * collaborators are added and removed with native statements, which leave the cached
+ * ToDo.collaborators lists alone, and another node's writes never reach this node's regions.
+ * A user change from the bus also clears the query cache: lookups such as findByEmail may hold
+ * a result that another node's write changed, and this node's update timestamps never saw it.
+ */
+@Slf4j
+@Component
+public class EntitySnapshotCache implements MeterBinder {
+
+    private static final String COLLABORATORS_ROLE = ToDo.class.getName() + ".collaborators";
+
+    private final LoadingCache<Long, ToDoSnapshot> todos;
+    private final LoadingCache<Long, UserSnapshot> users;
+    private final InvalidationBus invalidationBus;
+    private final Cache secondLevelCache;
+
+    public EntitySnapshotCache(ToDoRepository todoRepository, UserRepository userRepository,
+                               InvalidationBus invalidationBus, EntityManagerFactory entityManagerFactory,
+                               @Value("${snapshot-cache.max-size:10000}") long maxSize,
+                               @Value("${snapshot-cache.ttl:10m}") Duration ttl) {
+        this.todos = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(id -> todoRepository.findWithCollaboratorsById(id).map(ToDoSnapshot::of).orElseThrow(
+                        () -> new EntityNotFoundException("ToDo with id " + id + " not found")));
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(id -> userRepository.findById(id).map(UserSnapshot::of).orElseThrow(
+                        () -> new EntityNotFoundException("User with id " + id + " not found")));
+        this.invalidationBus = invalidationBus;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        invalidationBus.subscribe(this::apply);
+    }
+
+    public ToDoSnapshot getTodo(long id) {
+        return todos.get(id);
+    }
+
+    public UserSnapshot getUser(long id) {
+        return users.get(id);
+    }
+
+    public void evictTodo(long id) {
+        evict(() -> {
+            todos.invalidate(id);
+            secondLevelCache.evictCollectionData(COLLABORATORS_ROLE, id);
+        });
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.TODO, id));
+    }
+
+    public void evictUser(long id) {
+        evict(() -> users.invalidate(id));
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.USER, id));
+    }
+
+    /**
+     * Evicts a user just saved with {@code version}. Nodes that already hold that version keep it.
+     */
+    public void evictUser(long id, long version) {
+        evict(() -> users.invalidate(id));
+        invalidationBus.publish(new EntityChange(EntityChange.Type.USER, id, version));
+    }
+
+    /**
+     * Drops the user and every cached to-do they own or collaborate on, since deleting
+     * the user removes those rows or collaborations through database cascades.
+     */
+    public void evictDeletedUser(long id) {
+        evict(() -> dropDeletedUser(id));
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.DELETED_USER, id));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, todos, "todo.snapshots");
+        CaffeineCacheMetrics.monitor(registry, users, "user.snapshots");
+    }
+
+    private void apply(EntityChange change) {
+        switch (change.type()) {
+            case TODO -> {
+                todos.asMap().computeIfPresent(change.id(),
+                        (id, cached) -> change.supersedes(cached.version()) ? null : cached);
+                secondLevelCache.evictCollectionData(COLLABORATORS_ROLE, change.id());
+            }
+            case USER -> {
+                users.asMap().computeIfPresent(change.id(),
+                        (id, cached) -> change.supersedes(cached.version()) ? null : cached);
+                secondLevelCache.evictEntityData(User.class, change.id());
+                secondLevelCache.evictDefaultQueryRegion();
+            }
+            case DELETED_USER -> {
+                dropDeletedUser(change.id());
+                secondLevelCache.evictEntityData(User.class, change.id());
+                secondLevelCache.evictCollectionData(COLLABORATORS_ROLE);
+                secondLevelCache.evictDefaultQueryRegion();
+            }
+        }
+    }
+
+    private void dropDeletedUser(long id) {
+        users.invalidate(id);
+        todos.asMap().values().removeIf(todo -> todo.involves(id));
+    }
+
+    private static void evict(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
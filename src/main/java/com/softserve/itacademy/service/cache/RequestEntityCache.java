@@ -0,0 +1,91 @@
+package com.softserve.itacademy.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Identity map bound to the current HTTP request. Services read entities through it,
+ * so an entity requested by an authorization check and again by the handler is loaded once.
+ * Outside a request (startup jobs, tests) every call goes straight to the loader.
+ */
+@Component
+public class RequestEntityCache implements MeterBinder {
+
+    private static final String ATTRIBUTE = RequestEntityCache.class.getName();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public <T> T get(Class<T> type, Object id, Supplier<T> loader) {
+        Map<EntityKey, Object> entities = currentEntities();
+        if (entities == null) {
+            return loader.get();
+        }
+
+        EntityKey key = new EntityKey(type, id);
+        Object cached = entities.get(key);
+        if (cached != null) {
+            hits.increment();
+            return type.cast(cached);
+        }
+
+        misses.increment();
+        T loaded = loader.get();
+        entities.put(key, loaded);
+        return loaded;
+    }
+
+    public void evict(Class<?> type, Object id) {
+        Map<EntityKey, Object> entities = currentEntities();
+        if (entities != null) {
+            entities.remove(new EntityKey(type, id));
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("request.entity.cache", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Entity loads served from the request identity map")
+                .register(registry);
+        FunctionCounter.builder("request.entity.cache", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Entity loads that went to the database")
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<EntityKey, Object> currentEntities() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<EntityKey, Object> entities =
+                (Map<EntityKey, Object>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entities == null) {
+            entities = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, entities, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entities;
+    }
+
+    private record EntityKey(Class<?> type, Object id) {
+    }
+}
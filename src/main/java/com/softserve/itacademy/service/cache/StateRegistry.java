@@ -0,0 +1,94 @@
+package com.softserve.itacademy.service.cache;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the states table. States change only through {@code StateService},
+ * which calls {@link #refresh()} after every write, so reads never go to the database.
+ * The write is also published on the {@link InvalidationBus}; other nodes then drop the
+ * cached State rows and query results and reload their copy.
+ * The states handed out are detached copies shared by all callers and must not be modified.
+ * Templates reach it as {@code @stateRegistry}.
+ */
+@Slf4j
+@Component("stateRegistry")
+public class StateRegistry {
+
+    private final StateRepository stateRepository;
+    private final Cache secondLevelCache;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public StateRegistry(StateRepository stateRepository, InvalidationBus invalidationBus,
+                         EntityManagerFactory entityManagerFactory) {
+        this.stateRepository = stateRepository;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        invalidationBus.subscribe(this::apply);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        List<State> states = stateRepository.findAllByOrderById().stream()
+                .map(StateRegistry::copyOf)
+                .toList();
+        snapshot.set(new Snapshot(states,
+                states.stream().collect(Collectors.toUnmodifiableMap(State::getId, Function.identity())),
+                states.stream().collect(Collectors.toUnmodifiableMap(State::getName, Function.identity()))));
+        log.debug("Loaded {} states", states.size());
+    }
+
+    public List<State> getAll() {
+        return current().all();
+    }
+
+    public Optional<State> findById(long id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public Optional<State> findByName(String name) {
+        return Optional.ofNullable(name).map(current().byName()::get);
+    }
+
+    private void apply(EntityChange change) {
+        if (change.type() == EntityChange.Type.STATE) {
+            secondLevelCache.evictEntityData(State.class);
+            secondLevelCache.evictDefaultQueryRegion();
+            refresh();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private static State copyOf(State state) {
+        State copy = new State();
+        copy.setId(state.getId());
+        copy.setName(state.getName());
+        return copy;
+    }
+
+    private record Snapshot(List<State> all, Map<Long, State> byId, Map<String, State> byName) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.softserve.itacademy.service.cache.invalidation;
+
+/**
+ * A change to a cached entity, broadcast so that other nodes drop their copy.
+ * {@code version} is the version the change produced, or {@link #UNKNOWN_VERSION}
+ * when the writer does not know it, in which case every copy is stale.
+ */
+public record EntityChange(Type type, long id, long version) {
+
+    public static final long UNKNOWN_VERSION = -1;
+
+    public enum Type {
+        TODO, USER, DELETED_USER, STATE
+    }
+
+    public static EntityChange of(Type type, long id) {
+        return new EntityChange(type, id, UNKNOWN_VERSION);
+    }
+
+    public boolean supersedes(long cachedVersion) {
+        return version == UNKNOWN_VERSION || cachedVersion < version;
+    }
+}
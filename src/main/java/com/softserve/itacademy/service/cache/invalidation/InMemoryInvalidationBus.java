@@ -0,0 +1,52 @@
+package com.softserve.itacademy.service.cache.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers changes to every subscriber in this JVM. Enough for a single node and for tests,
+ * where several caches sharing one bus stand in for several nodes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "snapshot-cache.invalidation.bus", havingValue = "local")
+public class InMemoryInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<EntityChange>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(EntityChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(change);
+                }
+            });
+        } else {
+            deliver(change);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<EntityChange> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(EntityChange change) {
+        for (Consumer<EntityChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {}", change, e);
+            }
+        }
+    }
+}
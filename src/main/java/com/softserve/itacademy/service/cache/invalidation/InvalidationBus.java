@@ -0,0 +1,16 @@
+package com.softserve.itacademy.service.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link EntityChange}s between application nodes, so a write on one node evicts
+ * the cached copies on all of them. A change published inside a transaction is delivered
+ * only if that transaction commits. Delivery is at-least-once and may reach the publishing
+ * node as well, so listeners must be idempotent.
+ */
+public interface InvalidationBus {
+
+    void publish(EntityChange change);
+
+    void subscribe(Consumer<EntityChange> listener);
+}
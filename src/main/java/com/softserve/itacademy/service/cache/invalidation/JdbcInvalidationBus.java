@@ -0,0 +1,113 @@
+package com.softserve.itacademy.service.cache.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Passes changes through the cache_invalidations table, so nodes that share the database
+ * need nothing else to stay coherent. The row is inserted in the writer's transaction and
+ * so becomes visible exactly when the change commits. Every node polls for rows newer than
+ * its last poll minus {@code snapshot-cache.invalidation.overlap}: the overlap catches rows
+ * whose transaction committed after a later row was already read, and rows seen once are
+ * remembered for that long so they are not applied twice. Rows are stamped and polled with
+ * the database's clock, so nodes whose own clocks disagree still read the same window.
+ * A transaction that runs longer than the overlap can slip past the poll;
+ * {@code snapshot-cache.ttl} bounds how long the stale copy lives then.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "snapshot-cache.invalidation.bus", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcInvalidationBus implements InvalidationBus {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration overlap;
+    private final Duration retention;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Consumer<EntityChange>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Long, LocalDateTime> seen = new ConcurrentHashMap<>();
+    private LocalDateTime polledAt;
+
+    public JdbcInvalidationBus(JdbcTemplate jdbcTemplate,
+                               @Value("${snapshot-cache.invalidation.overlap:PT10S}") Duration overlap,
+                               @Value("${snapshot-cache.invalidation.retention:PT10M}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.overlap = overlap;
+        this.retention = retention;
+    }
+
+    @Override
+    public void publish(EntityChange change) {
+        jdbcTemplate.update("insert into cache_invalidations (entity_type, entity_id, version, node_id, created_at) " +
+                        "values (?, ?, ?, ?, localtimestamp)",
+                change.type().name(), change.id(), change.version(), nodeId);
+    }
+
+    @Override
+    public void subscribe(Consumer<EntityChange> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Applies the changes other nodes committed since the previous poll.
+     */
+    @Scheduled(fixedDelayString = "${snapshot-cache.invalidation.poll-interval:PT1S}")
+    public synchronized void poll() {
+        LocalDateTime now = databaseNow();
+        LocalDateTime since = (polledAt == null ? now : polledAt).minus(overlap);
+        List<ReceivedChange> received = jdbcTemplate.query(
+                "select id, entity_type, entity_id, version, node_id, created_at from cache_invalidations " +
+                        "where created_at > ? order by id",
+                (rs, rowNum) -> new ReceivedChange(rs.getLong("id"), rs.getString("node_id"),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        new EntityChange(EntityChange.Type.valueOf(rs.getString("entity_type")),
+                                rs.getLong("entity_id"), rs.getLong("version"))),
+                Timestamp.valueOf(since));
+
+        for (ReceivedChange row : received) {
+            if (seen.putIfAbsent(row.id(), row.createdAt()) == null && !nodeId.equals(row.nodeId())) {
+                deliver(row.change());
+            }
+        }
+        seen.values().removeIf(createdAt -> !createdAt.isAfter(since));
+        polledAt = now;
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot-cache.invalidation.retention:PT10M}")
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update("delete from cache_invalidations where created_at < ?",
+                Timestamp.valueOf(databaseNow().minus(retention)));
+        log.debug("Deleted {} expired cache invalidations", deleted);
+    }
+
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("select localtimestamp", Timestamp.class).toLocalDateTime();
+    }
+
+    private void deliver(EntityChange change) {
+        for (Consumer<EntityChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {}", change, e);
+            }
+        }
+    }
+
+    private record ReceivedChange(long id, String nodeId, LocalDateTime createdAt, EntityChange change) {
+    }
+}
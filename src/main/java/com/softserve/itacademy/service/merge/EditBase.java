@@ -0,0 +1,69 @@
+package com.softserve.itacademy.service.merge;
+
+import com.softserve.itacademy.config.exception.EditConflictException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Field values an edit form was rendered with, posted back as {@code base.<field>} inputs.
+ * Knowing what the user started from lets an edit made against an older version be
+ * re-applied on top of the latest one: fields the user left alone keep the latest value,
+ * and only a field changed both by the user and by someone else is a real conflict.
+ */
+public final class EditBase {
+
+    public static final String PREFIX = "base.";
+
+    private static final EditBase NONE = new EditBase(Map.of());
+
+    private final Map<String, String> values;
+
+    private EditBase(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static EditBase none() {
+        return NONE;
+    }
+
+    public static EditBase from(Map<String, String> params) {
+        Map<String, String> values = new HashMap<>();
+        params.forEach((name, value) -> {
+            if (name.startsWith(PREFIX)) {
+                values.put(name.substring(PREFIX.length()), value);
+            }
+        });
+        return values.isEmpty() ? NONE : new EditBase(Map.copyOf(values));
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Returns the value to store for {@code field}, given the user's value and the latest stored one.
+     * Values are compared by their string form, the same form the edit page rendered them in.
+     *
+     * @throws EditConflictException if both sides changed the field to different values,
+     *                               or the form did not post the field's base value
+     */
+    public <V> V merge(String field, V edited, V latest) {
+        if (!values.containsKey(field)) {
+            throw new EditConflictException("No base value for '" + field + "' to merge against");
+        }
+        String base = values.get(field);
+        if (Objects.equals(text(edited), base)) {
+            return latest;
+        }
+        if (Objects.equals(text(latest), base) || Objects.equals(text(latest), text(edited))) {
+            return edited;
+        }
+        throw new EditConflictException("'" + field + "' was changed by someone else in the meantime");
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.softserve.itacademy.service.merge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs an optimistic update and, when it loses the race against another writer,
+ * re-applies it on top of the latest version instead of failing straight away.
+ */
+@Slf4j
+public final class MergeRetry {
+
+    public static final int MAX_ATTEMPTS = 3;
+
+    private MergeRetry() {
+    }
+
+    /**
+     * @param base    what the user started from; without it nothing can be merged and the first conflict is final
+     * @param update  saves the edit as submitted
+     * @param rebased re-reads the latest version, merges the edit into it via {@link EditBase#merge} and saves it
+     */
+    public static <T> T run(EditBase base, Supplier<T> update, Supplier<T> rebased) {
+        try {
+            return update.get();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            if (base.isEmpty()) {
+                throw e;
+            }
+            log.info("Concurrent update of {} #{}, merging", e.getPersistentClassName(), e.getIdentifier());
+        }
+        for (int attempt = 2; ; attempt++) {
+            try {
+                return rebased.get();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.softserve.itacademy.service.purge;
+
+/**
+ * Published once a user has been marked for deletion.
+ */
+public record UserDeletionRequested(long userId) {
+}
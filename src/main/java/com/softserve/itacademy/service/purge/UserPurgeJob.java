@@ -0,0 +1,152 @@
+package com.softserve.itacademy.service.purge;
+
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.TodoMembershipRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.purge.UserPurgeProgress.Phase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Removes users marked for deletion in the background. Tasks, todos and collaborations
+ * go in chunks of {@code user.purge.chunk-size} rows, each chunk in its own short transaction,
+ * so a huge account never holds locks or a pooled connection for long. The mark lives in
+ * users.deletion_requested_at, so a purge cut short by a restart continues on the next run.
+ */
+@Slf4j
+@Component
+public class UserPurgeJob {
+
+    private final UserRepository userRepository;
+    private final ToDoRepository todoRepository;
+    private final TaskRepository taskRepository;
+    private final TodoMembershipRepository membershipRepository;
+    private final TodoAccessIndex accessIndex;
+    private final EntitySnapshotCache snapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<Long, UserPurgeProgress> progress = new ConcurrentHashMap<>();
+
+    public UserPurgeJob(UserRepository userRepository, ToDoRepository todoRepository, TaskRepository taskRepository,
+                        TodoMembershipRepository membershipRepository, TodoAccessIndex accessIndex,
+                        EntitySnapshotCache snapshotCache, TransactionTemplate transactionTemplate, TaskExecutor taskExecutor,
+                        @Value("${user.purge.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.todoRepository = todoRepository;
+        this.taskRepository = taskRepository;
+        this.membershipRepository = membershipRepository;
+        this.accessIndex = accessIndex;
+        this.snapshotCache = snapshotCache;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    @TransactionalEventListener
+    public void onDeletionRequested(UserDeletionRequested event) {
+        log.info("User {} marked for deletion, starting purge", event.userId());
+        taskExecutor.execute(this::purgePending);
+    }
+
+    @Scheduled(initialDelayString = "${user.purge.interval:PT1M}", fixedDelayString = "${user.purge.interval:PT1M}")
+    public void purgePeriodically() {
+        taskExecutor.execute(this::purgePending);
+    }
+
+    /**
+     * Purges every user marked for deletion. Does nothing if a purge is already running,
+     * since that one picks up newly marked users before it finishes.
+     */
+    public void purgePending() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Long> userIds;
+            while (!(userIds = userRepository.findIdsPendingDeletion(Limit.of(chunkSize))).isEmpty()) {
+                userIds.forEach(this::purge);
+            }
+        } catch (RuntimeException e) {
+            log.error("User purge stopped, it will resume on the next run", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Optional<UserPurgeProgress> getProgress(long userId) {
+        UserPurgeProgress current = progress.get(userId);
+        if (current != null) {
+            return Optional.of(current);
+        }
+        return userRepository.findById(userId)
+                .filter(user -> user.getDeletionRequestedAt() != null)
+                .map(user -> new UserPurgeProgress(userId, Phase.QUEUED, 0));
+    }
+
+    private void purge(long userId) {
+        progress.put(userId, new UserPurgeProgress(userId, Phase.TASKS, 0));
+        try {
+            deleteInChunks(userId, limit -> taskRepository.findIdsByOwnerId(userId, limit), taskRepository::deleteByIds);
+
+            advance(userId, Phase.TODOS);
+            deleteInChunks(userId, limit -> todoRepository.findIdsByOwnerId(userId, limit), todoIds -> {
+                todoIds.forEach(accessIndex::remove);
+                todoIds.forEach(snapshotCache::evictTodo);
+                return todoRepository.deleteByIds(todoIds);
+            });
+
+            advance(userId, Phase.COLLABORATIONS);
+            deleteInChunks(userId, limit -> todoRepository.findIdsByCollaboratorId(userId, limit), todoIds -> {
+                membershipRepository.deleteByUserIdAndTodoIds(userId, todoIds);
+                return todoRepository.deleteCollaborations(userId, todoIds);
+            });
+
+            advance(userId, Phase.ACCOUNT);
+            transactionTemplate.executeWithoutResult(status -> userRepository.deleteDirectlyById(userId));
+            accessIndex.removeUser(userId);
+            snapshotCache.evictDeletedUser(userId);
+            log.info("Purged user {}: {}", userId, progress.get(userId));
+        } finally {
+            progress.remove(userId);
+        }
+    }
+
+    private void deleteInChunks(long userId, Function<Limit, List<Long>> nextChunk, ToIntFunction<List<Long>> delete) {
+        Limit limit = Limit.of(chunkSize);
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = nextChunk.apply(limit);
+                return ids.isEmpty() ? 0 : delete.applyAsInt(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            UserPurgeProgress current = progress.computeIfPresent(userId, (id, p) -> p.plus(deleted));
+            log.debug("Purging user {}: {}", userId, current);
+        }
+    }
+
+    private void advance(long userId, Phase phase) {
+        progress.computeIfPresent(userId, (id, p) -> p.next(phase));
+    }
+}
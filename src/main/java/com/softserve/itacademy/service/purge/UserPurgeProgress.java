@@ -0,0 +1,19 @@
+package com.softserve.itacademy.service.purge;
+
+/**
+ * How far the purge of one user has got. {@code deletedRows} counts rows removed so far in all phases.
+ */
+public record UserPurgeProgress(long userId, Phase phase, long deletedRows) {
+
+    public enum Phase {
+        QUEUED, TASKS, TODOS, COLLABORATIONS, ACCOUNT
+    }
+
+    public UserPurgeProgress next(Phase phase) {
+        return new UserPurgeProgress(userId, phase, deletedRows);
+    }
+
+    public UserPurgeProgress plus(long rows) {
+        return new UserPurgeProgress(userId, phase, deletedRows + rows);
+    }
+}
@@ -0,0 +1,81 @@
+create sequence users_seq start with 1 increment by 50;
+create sequence todos_seq start with 1 increment by 50;
+create sequence states_seq start with 1 increment by 50;
+create sequence tasks_seq start with 1 increment by 50;
+
+create table users
+(
+    id         bigint       not null,
+    email      varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    password   varchar(255) not null,
+    role       varchar(255) not null,
+    version    bigint       default 0 not null,
+    deletion_requested_at timestamp(6),
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create index idx_users_deletion_requested on users (deletion_requested_at);
+
+create table todos
+(
+    created_at timestamp(6) not null,
+    id         bigint       not null,
+    owner_id   bigint,
+    title      varchar(255) not null unique,
+    version    bigint       default 0 not null,
+    primary key (id),
+    foreign key (owner_id) references users on delete cascade
+);
+
+create table todo_collaborator
+(
+    collaborator_id bigint not null,
+    todo_id         bigint not null,
+    primary key (todo_id, collaborator_id),
+    foreign key (todo_id) references todos on delete cascade,
+    foreign key (collaborator_id) references users on delete cascade
+);
+
+create table states
+(
+    id   bigint       not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table tasks
+(
+    id       bigint       not null,
+    state_id bigint,
+    todo_id  bigint,
+    name     varchar(255) not null,
+    priority varchar(255) check (priority in ('LOW', 'MEDIUM', 'HIGH')),
+    version  bigint       default 0 not null,
+    primary key (id),
+    foreign key (state_id) references states,
+    foreign key (todo_id) references todos on delete cascade
+);
+
+create index idx_tasks_todo on tasks (todo_id, id);
+
+create index idx_tasks_state on tasks (state_id);
+
+create index idx_todos_owner_created on todos (owner_id, created_at, id);
+
+create index idx_todo_collaborator_user on todo_collaborator (collaborator_id, todo_id);
+
+create table todo_membership
+(
+    user_id    bigint       not null,
+    todo_id    bigint       not null,
+    role       varchar(255) not null check (role in ('OWNER', 'COLLABORATOR')),
+    created_at timestamp(6) not null,
+    primary key (user_id, todo_id),
+    foreign key (user_id) references users on delete cascade,
+    foreign key (todo_id) references todos on delete cascade
+);
+
+create index idx_todo_membership_user_created on todo_membership (user_id, created_at, todo_id);
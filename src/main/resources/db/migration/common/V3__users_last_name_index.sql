@@ -0,0 +1 @@
+create index idx_users_last_name on users (last_name, id);
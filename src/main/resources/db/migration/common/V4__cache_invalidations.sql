@@ -0,0 +1,12 @@
+create table cache_invalidations
+(
+    id          bigint generated by default as identity,
+    entity_type varchar(20) not null,
+    entity_id   bigint      not null,
+    version     bigint      not null,
+    node_id     varchar(36) not null,
+    created_at  timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_cache_invalidations_created on cache_invalidations (created_at);
@@ -0,0 +1,2 @@
+-- H2 cannot index expressions, so this one is Postgres-only.
+create unique index uk_users_email_lower on users (lower(email));
@@ -0,0 +1,59 @@
+-- Demo data for the dev profile. Repeatable: Flyway applies it after the versioned migrations
+-- and again only when this file changes, so every insert skips rows that are already there.
+
+-- SET IDENTITY_INSERT users ON
+
+INSERT INTO users (id, first_name, last_name, email, password, role) SELECT 5, 'Nick', 'Green', 'nick@mail.com', '$2y$10$MylBJG.1uWKaJSKYePsxUObsqYjCNhaphWMUsRZSrXjgWVA65AaC6', 'USER' WHERE NOT EXISTS (SELECT 1 FROM users WHERE id = 5);
+INSERT INTO users (id, first_name, last_name, email, password, role) SELECT 6, 'Nora', 'White', 'nora@mail.com', '$2y$10$11T874WuR39e0kALIbwd.uXXrX4jDvtC/9NFQMcddQ03BRsh5RVRy', 'USER' WHERE NOT EXISTS (SELECT 1 FROM users WHERE id = 6);
+INSERT INTO users (id, first_name, last_name, email, password, role) SELECT 4, 'Mike', 'Brown', 'mike@mail.com', '$2a$12$Um1zTxPN7aNWzU/Jxz2eQ.y4vFMJX4jRRvxFdx.AxJhmB2HiE4j7K', 'ADMIN' WHERE NOT EXISTS (SELECT 1 FROM users WHERE id = 4);
+
+-- SET IDENTITY_INSERT users OFF
+--
+-- SET IDENTITY_INSERT states ON
+
+INSERT INTO states (id, name) SELECT 5, 'New' WHERE NOT EXISTS (SELECT 1 FROM states WHERE id = 5);
+INSERT INTO states (id, name) SELECT 6, 'Doing' WHERE NOT EXISTS (SELECT 1 FROM states WHERE id = 6);
+INSERT INTO states (id, name) SELECT 7, 'Verify' WHERE NOT EXISTS (SELECT 1 FROM states WHERE id = 7);
+INSERT INTO states (id, name) SELECT 8, 'Done' WHERE NOT EXISTS (SELECT 1 FROM states WHERE id = 8);
+
+-- SET IDENTITY_INSERT states OFF
+--
+-- SET IDENTITY_INSERT todos ON
+
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 7, 'Mike''s To-Do #1', '2020-09-16 14:00:04.810221', 4 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 7);
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 8, 'Mike''s To-Do #2', '2020-09-16 14:00:11.480271', 4 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 8);
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 9, 'Mike''s To-Do #3', '2020-09-16 14:00:16.351238', 4 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 9);
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 10, 'Nick''s To-Do #1', '2020-09-16 14:14:54.532337', 5 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 10);
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 11, 'Nick''s To-Do #2', '2020-09-16 14:15:04.707176', 5 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 11);
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 12, 'Nora''s To-Do #1', '2020-09-16 14:15:32.464391', 6 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 12);
+INSERT INTO todos (id, title, created_at, owner_id) SELECT 13, 'Nora''s To-Do #2', '2020-09-16 14:15:39.16246', 6 WHERE NOT EXISTS (SELECT 1 FROM todos WHERE id = 13);
+
+-- SET IDENTITY_INSERT todos OFF
+--
+-- SET IDENTITY_INSERT tasks ON
+
+INSERT INTO tasks (id, name, priority, todo_id, state_id) SELECT 6, 'Task #2', 'LOW', 7, 5 WHERE NOT EXISTS (SELECT 1 FROM tasks WHERE id = 6);
+INSERT INTO tasks (id, name, priority, todo_id, state_id) SELECT 5, 'Task #1', 'HIGH', 7, 8 WHERE NOT EXISTS (SELECT 1 FROM tasks WHERE id = 5);
+INSERT INTO tasks (id, name, priority, todo_id, state_id) SELECT 7, 'Task #3', 'MEDIUM', 7, 6 WHERE NOT EXISTS (SELECT 1 FROM tasks WHERE id = 7);
+
+-- SET IDENTITY_INSERT tasks OFF
+
+-- SET IDENTITY_INSERT todo_collaborator ON
+
+INSERT INTO todo_collaborator (todo_id, collaborator_id) SELECT 7, 5 WHERE NOT EXISTS (SELECT 1 FROM todo_collaborator WHERE todo_id = 7 AND collaborator_id = 5);
+INSERT INTO todo_collaborator (todo_id, collaborator_id) SELECT 7, 6 WHERE NOT EXISTS (SELECT 1 FROM todo_collaborator WHERE todo_id = 7 AND collaborator_id = 6);
+INSERT INTO todo_collaborator (todo_id, collaborator_id) SELECT 10, 6 WHERE NOT EXISTS (SELECT 1 FROM todo_collaborator WHERE todo_id = 10 AND collaborator_id = 6);
+INSERT INTO todo_collaborator (todo_id, collaborator_id) SELECT 10, 4 WHERE NOT EXISTS (SELECT 1 FROM todo_collaborator WHERE todo_id = 10 AND collaborator_id = 4);
+INSERT INTO todo_collaborator (todo_id, collaborator_id) SELECT 12, 5 WHERE NOT EXISTS (SELECT 1 FROM todo_collaborator WHERE todo_id = 12 AND collaborator_id = 5);
+INSERT INTO todo_collaborator (todo_id, collaborator_id) SELECT 12, 4 WHERE NOT EXISTS (SELECT 1 FROM todo_collaborator WHERE todo_id = 12 AND collaborator_id = 4);
+
+-- SET IDENTITY_INSERT todo_collaborator OFF
+
+INSERT INTO todo_membership (user_id, todo_id, role, created_at)
+SELECT t.owner_id, t.id, 'OWNER', t.created_at FROM todos t
+WHERE NOT EXISTS (SELECT 1 FROM todo_membership m WHERE m.user_id = t.owner_id AND m.todo_id = t.id);
+INSERT INTO todo_membership (user_id, todo_id, role, created_at)
+SELECT tc.collaborator_id, t.id, 'COLLABORATOR', t.created_at FROM todo_collaborator tc JOIN todos t ON t.id = tc.todo_id
+WHERE NOT EXISTS (SELECT 1 FROM todo_membership m WHERE m.user_id = tc.collaborator_id AND m.todo_id = t.id);
+
+-- The ids above are fixed; R__seed_sequences.sql in the vendor folder moves the sequences past them.
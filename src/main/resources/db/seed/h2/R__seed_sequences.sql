@@ -0,0 +1,7 @@
+-- Moves the pooled sequences past the fixed seed ids. Hibernate treats the value it reads as the
+-- top of a block of 50, so the first generated id is 951. H2 has no setval; RESTART WITH takes the
+-- next value, and a sequence already at 1000 or beyond keeps it, so a rerun never goes back.
+ALTER SEQUENCE users_seq RESTART WITH (SELECT greatest(1000, base_value) FROM information_schema.sequences WHERE sequence_name = 'USERS_SEQ');
+ALTER SEQUENCE states_seq RESTART WITH (SELECT greatest(1000, base_value) FROM information_schema.sequences WHERE sequence_name = 'STATES_SEQ');
+ALTER SEQUENCE todos_seq RESTART WITH (SELECT greatest(1000, base_value) FROM information_schema.sequences WHERE sequence_name = 'TODOS_SEQ');
+ALTER SEQUENCE tasks_seq RESTART WITH (SELECT greatest(1000, base_value) FROM information_schema.sequences WHERE sequence_name = 'TASKS_SEQ');
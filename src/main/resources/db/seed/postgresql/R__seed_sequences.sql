@@ -0,0 +1,7 @@
+-- Moves the pooled sequences past the fixed seed ids. Hibernate treats the value it reads as the
+-- top of a block of 50, so the first generated id is 951. A sequence already at 1000 or beyond
+-- is left alone, so a rerun never hands out ids that are in use.
+SELECT setval('users_seq', greatest(1000, last_value + 50), false) FROM users_seq WHERE last_value < 1000;
+SELECT setval('states_seq', greatest(1000, last_value + 50), false) FROM states_seq WHERE last_value < 1000;
+SELECT setval('todos_seq', greatest(1000, last_value + 50), false) FROM todos_seq WHERE last_value < 1000;
+SELECT setval('tasks_seq', greatest(1000, last_value + 50), false) FROM tasks_seq WHERE last_value < 1000;
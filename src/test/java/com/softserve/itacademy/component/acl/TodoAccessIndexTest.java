@@ -0,0 +1,156 @@
+package com.softserve.itacademy.component.acl;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InMemoryInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TodoAccessIndex.class, InMemoryInvalidationBus.class})
+public class TodoAccessIndexTest {
+
+    @Autowired
+    private TodoAccessIndex accessIndex;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ToDoRepository todoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private InMemoryInvalidationBus invalidationBus;
+
+    private User owner;
+    private User collaborator;
+    private ToDo todo;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(createUser("Mike", "mike@mail.com"));
+        collaborator = userRepository.save(createUser("Nick", "nick@mail.com"));
+
+        todo = new ToDo();
+        todo.setTitle("test todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(new ArrayList<>(List.of(collaborator)));
+        todo = todoRepository.saveAndFlush(todo);
+    }
+
+    @Test
+    public void testRebuildFromTables() {
+        accessIndex.rebuild();
+
+        TodoAccessIndex.TodoAccess access = accessIndex.find(todo.getId()).orElseThrow();
+        assertTrue(access.isOwner(owner.getId()));
+        assertFalse(access.isOwner(collaborator.getId()));
+        assertTrue(access.isOwnerOrCollaborator(collaborator.getId()));
+        assertArrayEquals(new long[]{todo.getId()}, accessIndex.getTodoIds(collaborator.getId()));
+    }
+
+    @Test
+    public void testCollaboratorChanges() {
+        accessIndex.rebuild();
+
+        accessIndex.removeCollaborator(todo.getId(), collaborator.getId());
+        commit();
+        assertFalse(accessIndex.find(todo.getId()).orElseThrow().isOwnerOrCollaborator(collaborator.getId()));
+        assertEquals(0, accessIndex.getTodoIds(collaborator.getId()).length);
+
+        accessIndex.addCollaborator(todo.getId(), collaborator.getId());
+        commit();
+        assertTrue(accessIndex.find(todo.getId()).orElseThrow().isOwnerOrCollaborator(collaborator.getId()));
+    }
+
+    @Test
+    public void testRemoveUser() {
+        accessIndex.rebuild();
+
+        accessIndex.removeUser(owner.getId());
+        commit();
+
+        assertTrue(accessIndex.find(todo.getId()).isEmpty());
+        assertEquals(0, accessIndex.getTodoIds(collaborator.getId()).length);
+    }
+
+    @Test
+    public void testChangesWaitForCommit() {
+        accessIndex.rebuild();
+
+        accessIndex.removeCollaborator(todo.getId(), collaborator.getId());
+        accessIndex.addCollaborator(todo.getId(), owner.getId() + 100);
+
+        TodoAccessIndex.TodoAccess access = accessIndex.find(todo.getId()).orElseThrow();
+        assertTrue(access.isOwnerOrCollaborator(collaborator.getId()));
+        assertFalse(access.isOwnerOrCollaborator(owner.getId() + 100));
+    }
+
+    @Test
+    public void testVerifyDetectsDivergence() {
+        accessIndex.rebuild();
+        assertTrue(accessIndex.verify());
+
+        jdbcTemplate.update("delete from todo_collaborator where todo_id = ?", todo.getId());
+
+        assertFalse(accessIndex.verify());
+        assertFalse(accessIndex.find(todo.getId()).orElseThrow().isOwnerOrCollaborator(collaborator.getId()));
+        assertTrue(accessIndex.verify());
+    }
+
+    @Test
+    public void testChangesReachOtherNodes() {
+        TodoAccessIndex otherNode = new TodoAccessIndex(jdbcTemplate, invalidationBus);
+        accessIndex.rebuild();
+        otherNode.rebuild();
+
+        jdbcTemplate.update("delete from todo_collaborator where todo_id = ?", todo.getId());
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.TODO, todo.getId()));
+        commit();
+
+        for (TodoAccessIndex node : List.of(accessIndex, otherNode)) {
+            assertFalse(node.find(todo.getId()).orElseThrow().isOwnerOrCollaborator(collaborator.getId()));
+            assertEquals(0, node.getTodoIds(collaborator.getId()).length);
+        }
+
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.DELETED_USER, owner.getId()));
+        commit();
+
+        for (TodoAccessIndex node : List.of(accessIndex, otherNode)) {
+            assertTrue(node.find(todo.getId()).isEmpty());
+        }
+    }
+
+    /**
+     * The test transaction is rolled back, so its commit callbacks are run by hand.
+     */
+    private static void commit() {
+        TransactionSynchronizationUtils.triggerAfterCommit();
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
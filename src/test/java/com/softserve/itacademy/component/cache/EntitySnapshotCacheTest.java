@@ -0,0 +1,186 @@
+package com.softserve.itacademy.component.cache;
+
+import com.softserve.itacademy.dto.ToDoSnapshot;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.cache.invalidation.InMemoryInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntitySnapshotCacheTest {
+
+    private final ToDoRepository todoRepository = mock(ToDoRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryInvalidationBus invalidationBus = new InMemoryInvalidationBus();
+    private EntitySnapshotCache snapshotCache;
+
+    @BeforeEach
+    public void setUp() {
+        snapshotCache = newNode(mock(Cache.class));
+        snapshotCache.bindTo(meterRegistry);
+        when(todoRepository.findWithCollaboratorsById(1L)).thenReturn(Optional.of(todo(1, 10, 20)));
+        when(todoRepository.findWithCollaboratorsById(2L)).thenReturn(Optional.of(todo(2, 30, 40)));
+    }
+
+    @Test
+    public void testLoadsOnceAndReturnsSnapshot() {
+        ToDoSnapshot first = snapshotCache.getTodo(1);
+        ToDoSnapshot second = snapshotCache.getTodo(1);
+
+        assertEquals(new ToDoSnapshot(1, "todo 1", first.createdAt(), 10L, List.of(20L), 0), first);
+        assertEquals(first, second);
+        verify(todoRepository, times(1)).findWithCollaboratorsById(1L);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "todo.snapshots").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.load").tag("cache", "todo.snapshots").tag("result", "success")
+                .functionCounter().count());
+        meterRegistry.get("cache.load.duration").tag("cache", "todo.snapshots").timeGauge();
+    }
+
+    @Test
+    public void testMissingEntityIsNotCached() {
+        assertThrows(EntityNotFoundException.class, () -> snapshotCache.getUser(5));
+        assertThrows(EntityNotFoundException.class, () -> snapshotCache.getUser(5));
+
+        verify(userRepository, times(2)).findById(5L);
+    }
+
+    @Test
+    public void testEvictTodoForcesReload() {
+        snapshotCache.getTodo(1);
+        snapshotCache.evictTodo(1);
+        snapshotCache.getTodo(1);
+
+        verify(todoRepository, times(2)).findWithCollaboratorsById(1L);
+    }
+
+    @Test
+    public void testEvictDeletedUserDropsTheirTodos() {
+        snapshotCache.getTodo(1);
+        snapshotCache.getTodo(2);
+
+        snapshotCache.evictDeletedUser(20);
+        snapshotCache.getTodo(1);
+        snapshotCache.getTodo(2);
+
+        verify(todoRepository, times(2)).findWithCollaboratorsById(1L);
+        verify(todoRepository, times(1)).findWithCollaboratorsById(2L);
+    }
+
+    @Test
+    public void testEvictionRepeatsWhenTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            snapshotCache.evictTodo(1);
+            snapshotCache.getTodo(1);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        snapshotCache.getTodo(1);
+
+        verify(todoRepository, times(2)).findWithCollaboratorsById(1L);
+    }
+
+    @Test
+    public void testEvictionReachesOtherNodes() {
+        Cache otherSecondLevelCache = mock(Cache.class);
+        EntitySnapshotCache otherNode = newNode(otherSecondLevelCache);
+        otherNode.getTodo(1);
+        otherNode.getTodo(2);
+
+        snapshotCache.evictTodo(1);
+        otherNode.getTodo(1);
+        otherNode.getTodo(2);
+
+        verify(todoRepository, times(2)).findWithCollaboratorsById(1L);
+        verify(todoRepository, times(1)).findWithCollaboratorsById(2L);
+        verify(otherSecondLevelCache).evictCollectionData(ToDo.class.getName() + ".collaborators", 1L);
+    }
+
+    @Test
+    public void testOtherNodesKeepSnapshotOfSavedVersion() {
+        User user = user(10);
+        user.setVersion(3);
+        when(userRepository.findById(10L)).thenReturn(Optional.of(user));
+        Cache otherSecondLevelCache = mock(Cache.class);
+        EntitySnapshotCache otherNode = newNode(otherSecondLevelCache);
+        otherNode.getUser(10);
+
+        snapshotCache.evictUser(10, 3);
+        otherNode.getUser(10);
+        snapshotCache.evictUser(10, 4);
+        otherNode.getUser(10);
+
+        verify(userRepository, times(2)).findById(10L);
+        verify(otherSecondLevelCache, times(2)).evictEntityData(User.class, 10L);
+    }
+
+    @Test
+    public void testRolledBackEvictionIsNotBroadcast() {
+        EntitySnapshotCache otherNode = newNode(mock(Cache.class));
+        otherNode.getTodo(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            snapshotCache.evictTodo(1);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        otherNode.getTodo(1);
+
+        verify(todoRepository, times(1)).findWithCollaboratorsById(1L);
+    }
+
+    private EntitySnapshotCache newNode(Cache secondLevelCache) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        return new EntitySnapshotCache(todoRepository, userRepository, invalidationBus, entityManagerFactory,
+                100, Duration.ofMinutes(10));
+    }
+
+    private static ToDo todo(long id, long ownerId, long collaboratorId) {
+        ToDo todo = new ToDo();
+        todo.setId(id);
+        todo.setTitle("todo " + id);
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(user(ownerId));
+        todo.setCollaborators(List.of(user(collaboratorId)));
+        return todo;
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
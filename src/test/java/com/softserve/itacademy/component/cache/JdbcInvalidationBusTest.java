@@ -0,0 +1,105 @@
+package com.softserve.itacademy.component.cache;
+
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.JdbcInvalidationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two buses on the same database stand in for two nodes.
+ */
+@SpringBootTest
+public class JdbcInvalidationBusTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcInvalidationBus node1;
+    private JdbcInvalidationBus node2;
+    private final List<EntityChange> receivedBy1 = new ArrayList<>();
+    private final List<EntityChange> receivedBy2 = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        node1 = newNode(receivedBy1);
+        node2 = newNode(receivedBy2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from cache_invalidations");
+    }
+
+    @Test
+    public void testCommittedChangeReachesOtherNodeOnce() {
+        EntityChange change = new EntityChange(EntityChange.Type.USER, 7, 3);
+        transactionTemplate.executeWithoutResult(status -> node1.publish(change));
+
+        node1.poll();
+        node2.poll();
+        node2.poll();
+
+        assertEquals(List.of(), receivedBy1);
+        assertEquals(List.of(change), receivedBy2);
+    }
+
+    @Test
+    public void testChangeIsStampedWithTheDatabaseClock() {
+        Timestamp before = databaseNow();
+        node1.publish(new EntityChange(EntityChange.Type.USER, 7, 3));
+        Timestamp after = databaseNow();
+
+        Timestamp createdAt = jdbcTemplate.queryForObject("select created_at from cache_invalidations", Timestamp.class);
+        assertTrue(!createdAt.before(before) && !createdAt.after(after));
+    }
+
+    @Test
+    public void testRolledBackChangeIsNotDelivered() {
+        transactionTemplate.executeWithoutResult(status -> {
+            node1.publish(EntityChange.of(EntityChange.Type.TODO, 7));
+            status.setRollbackOnly();
+        });
+
+        node2.poll();
+
+        assertEquals(List.of(), receivedBy2);
+    }
+
+    @Test
+    public void testDeleteExpired() {
+        node1.publish(EntityChange.of(EntityChange.Type.TODO, 7));
+        jdbcTemplate.update("update cache_invalidations set created_at = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+        node1.publish(EntityChange.of(EntityChange.Type.TODO, 8));
+
+        node1.deleteExpired();
+
+        assertEquals(List.of(8L), jdbcTemplate.queryForList("select entity_id from cache_invalidations", Long.class));
+    }
+
+    private Timestamp databaseNow() {
+        return jdbcTemplate.queryForObject("select localtimestamp", Timestamp.class);
+    }
+
+    private JdbcInvalidationBus newNode(List<EntityChange> received) {
+        JdbcInvalidationBus bus = new JdbcInvalidationBus(jdbcTemplate, Duration.ofSeconds(10), Duration.ofMinutes(10));
+        bus.subscribe(received::add);
+        return bus;
+    }
+}
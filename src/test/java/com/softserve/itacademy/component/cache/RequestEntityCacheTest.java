@@ -0,0 +1,74 @@
+package com.softserve.itacademy.component.cache;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.service.cache.RequestEntityCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RequestEntityCacheTest {
+
+    private final RequestEntityCache requestCache = new RequestEntityCache();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<ToDo> loader = () -> {
+        loads.incrementAndGet();
+        return new ToDo();
+    };
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testLoadsOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        ToDo first = requestCache.get(ToDo.class, 1L, loader);
+        ToDo second = requestCache.get(ToDo.class, 1L, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, requestCache.getHitCount());
+        assertEquals(1, requestCache.getMissCount());
+    }
+
+    @Test
+    public void testEvictForcesReload() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        requestCache.get(ToDo.class, 1L, loader);
+        requestCache.evict(ToDo.class, 1L);
+        requestCache.get(ToDo.class, 1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEachRequestHasOwnEntities() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        requestCache.get(ToDo.class, 1L, loader);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        requestCache.get(ToDo.class, 1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testPassesThroughOutsideRequest() {
+        requestCache.get(ToDo.class, 1L, loader);
+        requestCache.get(ToDo.class, 1L, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, requestCache.getHitCount());
+    }
+}
@@ -0,0 +1,161 @@
+package com.softserve.itacademy.component.cache;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.purge.UserPurgeJob;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Not transactional on purpose: the second-level cache is only read by later transactions.
+ */
+@Slf4j
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private StateService stateService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ToDoRepository todoRepository;
+    @Autowired
+    private StateRepository stateRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserPurgeJob purgeJob;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User collaborator;
+    private ToDo todo;
+    private State state;
+
+    @BeforeEach
+    public void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(createUser("Mike", "mike@mail.com"));
+        collaborator = userRepository.save(createUser("Nick", "nick@mail.com"));
+        state = new State();
+        state.setName("Cached");
+        state = stateService.create(state);
+
+        ToDo newTodo = new ToDo();
+        newTodo.setTitle("cached todo");
+        newTodo.setCreatedAt(LocalDateTime.now());
+        newTodo.setOwner(owner);
+        newTodo.setCollaborators(new ArrayList<>(List.of(collaborator)));
+        todo = todoService.create(newTodo);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.findById(collaborator.getId()).ifPresent(this::purge);
+        purge(owner);
+        stateService.delete(state.getId());
+    }
+
+    @Test
+    @DisplayName("A repeated page load only reads the to-do row itself")
+    public void testStatementsPerPage() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        long coldStatements = statementsFor(this::loadPage);
+        long warmStatements = statementsFor(this::loadPage);
+
+        log.info("Statements per page: {} without the second-level cache, {} with it", coldStatements, warmStatements);
+        assertEquals(4, coldStatements);
+        assertEquals(1, warmStatements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    public void testCollaboratorChangeInvalidatesCollection() {
+        loadPage();
+        User other = userRepository.save(createUser("Nora", "nora@mail.com"));
+
+        todoService.addCollaborator(todo.getId(), other);
+
+        assertThat(collaboratorIds()).containsExactlyInAnyOrder(collaborator.getId(), other.getId());
+        purge(other);
+        assertThat(collaboratorIds()).containsExactly(collaborator.getId());
+    }
+
+    @Test
+    public void testDeletedUserDropsOutOfCachedLookups() {
+        loadPage();
+
+        purge(collaborator);
+
+        assertThat(collaboratorIds()).isEmpty();
+        assertThat(userService.findByUsername("nick@mail.com")).isEmpty();
+    }
+
+    private void purge(User user) {
+        transactionTemplate.executeWithoutResult(
+                status -> userRepository.markForDeletion(user.getId(), LocalDateTime.now()));
+        purgeJob.purgePending();
+    }
+
+    private void loadPage() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.findByUsername("mike@mail.com").orElseThrow();
+            stateRepository.findAllByOrderById();
+            todoRepository.findById(todo.getId()).orElseThrow().getCollaborators().forEach(User::getFirstName);
+        });
+    }
+
+    private List<Long> collaboratorIds() {
+        return transactionTemplate.execute(status -> todoRepository.findById(todo.getId()).orElseThrow()
+                .getCollaborators().stream().map(User::getId).toList());
+    }
+
+    private long statementsFor(Runnable page) {
+        statistics.clear();
+        page.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
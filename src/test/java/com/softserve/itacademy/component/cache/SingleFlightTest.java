@@ -0,0 +1,130 @@
+package com.softserve.itacademy.component.cache;
+
+import com.softserve.itacademy.service.cache.SingleFlight;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SingleFlight<Long, Object> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testConcurrentLoadsShareOneFetch() throws InterruptedException {
+        Object value = new Object();
+        ConcurrentLinkedQueue<Object> results = new ConcurrentLinkedQueue<>();
+
+        Thread leader = start(() -> results.add(singleFlight.load(1L, blockingLoader(value))));
+        started.await();
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(start(() -> results.add(singleFlight.load(1L, blockingLoader(new Object())))));
+        }
+        awaitWaiting(followers);
+        release.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(FOLLOWERS + 1, results.size());
+        results.forEach(result -> assertSame(value, result));
+    }
+
+    @Test
+    public void testFailureReachesEveryWaiter() throws InterruptedException {
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        Supplier<Object> failing = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            throw new EntityNotFoundException("ToDo with id 1 not found");
+        };
+
+        Thread leader = start(() -> failures.add(assertThrows(EntityNotFoundException.class,
+                () -> singleFlight.load(1L, failing))));
+        started.await();
+        Thread follower = start(() -> failures.add(assertThrows(EntityNotFoundException.class,
+                () -> singleFlight.load(1L, failing))));
+        awaitWaiting(List.of(follower));
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertEquals(1, loads.get());
+        assertEquals(2, failures.size());
+    }
+
+    @Test
+    public void testNothingIsKeptAfterLoad() {
+        singleFlight.load(1L, () -> loads.incrementAndGet());
+        singleFlight.load(1L, () -> loads.incrementAndGet());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testForgetStartsFreshLoad() throws InterruptedException {
+        Object stale = new Object();
+        Object fresh = new Object();
+        Thread leader = start(() -> singleFlight.load(1L, blockingLoader(stale)));
+        started.await();
+
+        singleFlight.forget(1L);
+        Object afterWrite = singleFlight.load(1L, () -> fresh);
+        release.countDown();
+        leader.join();
+
+        assertSame(fresh, afterWrite);
+    }
+
+    private Supplier<Object> blockingLoader(Object value) {
+        return () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return value;
+        };
+    }
+
+    private static Thread start(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                assertTrue(thread.isAlive(), "Thread finished without waiting for the load in flight");
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.softserve.itacademy.component.merge;
+
+import com.softserve.itacademy.config.exception.EditConflictException;
+import com.softserve.itacademy.dto.userDto.UpdateUserDto;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.TaskService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.merge.EditBase;
+import com.softserve.itacademy.service.purge.UserPurgeJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Not transactional on purpose: every save has to commit for the version checks to see it.
+ */
+@SpringBootTest
+public class ConcurrentEditTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ToDoRepository todoRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private StateRepository stateRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserPurgeJob purgeJob;
+
+    private User owner;
+    private User collaborator;
+    private ToDo todo;
+    private State state;
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(createUser("Mike", "mike@mail.com"));
+        collaborator = userRepository.save(createUser("Nick", "nick@mail.com"));
+
+        todo = new ToDo();
+        todo.setTitle("concurrent todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(new ArrayList<>());
+        todo = todoService.create(todo);
+
+        state = new State();
+        state.setName("Concurrent");
+        state = stateRepository.save(state);
+
+        task = new Task();
+        task.setName("concurrent task");
+        task.setPriority(TaskPriority.LOW);
+        task.setTodo(todo);
+        task.setState(state);
+        task = taskRepository.save(task);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskRepository.deleteById(task.getId());
+        stateRepository.deleteById(state.getId());
+        todoService.delete(todo.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.markForDeletion(collaborator.getId(), LocalDateTime.now());
+            userRepository.markForDeletion(owner.getId(), LocalDateTime.now());
+        });
+        purgeJob.purgePending();
+    }
+
+    @Test
+    public void testMergeTitleEditOverOtherChange() {
+        ToDo edited = todoRepository.findById(todo.getId()).orElseThrow();
+        LocalDateTime createdAt = moveCreatedAt();
+
+        edited.setTitle("renamed todo");
+        todoService.update(edited, EditBase.from(Map.of("base.title", "concurrent todo")));
+
+        ToDo actual = todoService.readById(todo.getId());
+        assertEquals("renamed todo", actual.getTitle());
+        assertEquals(createdAt, actual.getCreatedAt());
+    }
+
+    @Test
+    public void testConflictingTitleEdits() {
+        ToDo edited = todoRepository.findById(todo.getId()).orElseThrow();
+        ToDo other = todoRepository.findById(todo.getId()).orElseThrow();
+        other.setTitle("their title");
+        todoService.update(other, EditBase.none());
+
+        edited.setTitle("my title");
+        assertThrows(EditConflictException.class,
+                () -> todoService.update(edited, EditBase.from(Map.of("base.title", "concurrent todo"))));
+        assertEquals("their title", todoService.readById(todo.getId()).getTitle());
+    }
+
+    @Test
+    public void testStaleEditWithoutBaseIsRejected() {
+        ToDo edited = todoRepository.findById(todo.getId()).orElseThrow();
+        moveCreatedAt();
+
+        edited.setTitle("renamed todo");
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> todoService.update(edited, EditBase.none()));
+    }
+
+    @Test
+    public void testMergeTaskEditsOfDifferentFields() {
+        Task theirs = taskRepository.findById(task.getId()).orElseThrow();
+        theirs.setPriority(TaskPriority.HIGH);
+        taskService.update(theirs, EditBase.none());
+
+        Task mine = taskRepository.findById(task.getId()).orElseThrow();
+        mine.setVersion(task.getVersion());
+        mine.setName("renamed task");
+        mine.setPriority(TaskPriority.LOW);
+        taskService.update(mine, EditBase.from(Map.of(
+                "base.name", "concurrent task",
+                "base.priority", "LOW",
+                "base.stateId", String.valueOf(state.getId()))));
+
+        Task actual = taskService.readById(task.getId());
+        assertEquals("renamed task", actual.getName());
+        assertEquals(TaskPriority.HIGH, actual.getPriority());
+        assertEquals(task.getVersion() + 2, actual.getVersion());
+    }
+
+    @Test
+    public void testMergeUserEditOverOtherChange() {
+        UpdateUserDto theirs = updateUserDto(owner);
+        theirs.setLastName("Brown");
+        userService.update(theirs, EditBase.none());
+
+        UpdateUserDto mine = updateUserDto(owner);
+        mine.setFirstName("Michael");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> userService.update(mine, EditBase.none()));
+
+        userService.update(mine, EditBase.from(Map.of(
+                "base.firstName", "Mike",
+                "base.lastName", "Green",
+                "base.email", "mike@mail.com")));
+
+        User actual = userService.readById(owner.getId());
+        assertEquals("Michael", actual.getFirstName());
+        assertEquals("Brown", actual.getLastName());
+    }
+
+    @Test
+    public void testConcurrentAddsOfSameCollaborator() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    todoService.addCollaborator(todo.getId(), collaborator);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), List.copyOf(failures));
+        assertEquals(List.of(collaborator.getId()), todoRepository.findWithCollaboratorsById(todo.getId())
+                .orElseThrow().getCollaborators().stream().map(User::getId).toList());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from todo_membership where todo_id = ? and user_id = ?",
+                Integer.class, todo.getId(), collaborator.getId()));
+    }
+
+    private LocalDateTime moveCreatedAt() {
+        ToDo other = todoRepository.findById(todo.getId()).orElseThrow();
+        other.setCreatedAt(other.getCreatedAt().minusDays(1));
+        todoService.update(other, EditBase.none());
+        return todoRepository.findById(todo.getId()).orElseThrow().getCreatedAt();
+    }
+
+    private UpdateUserDto updateUserDto(User user) {
+        UpdateUserDto dto = new UpdateUserDto();
+        dto.setId(user.getId());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setEmail(user.getEmail());
+        dto.setRole(user.getRole());
+        dto.setVersion(user.getVersion());
+        return dto;
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
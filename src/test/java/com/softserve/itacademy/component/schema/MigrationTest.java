@@ -0,0 +1,43 @@
+package com.softserve.itacademy.component.schema;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The context only starts if Hibernate validates the entities against the migrated schema,
+ * so this just checks that every migration was applied and the dev seed was left out.
+ */
+@SpringBootTest
+public class MigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testAllMigrationsApplied() {
+        MigrationInfo[] migrations = flyway.info().all();
+
+        assertTrue(migrations.length > 0);
+        assertTrue(Arrays.stream(migrations).allMatch(migration -> migration.getState() == MigrationState.SUCCESS),
+                () -> Arrays.toString(migrations));
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    public void testSeedDataOnlyInDevProfile() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from users where email = 'mike@mail.com' and id = 4", Integer.class));
+    }
+}
@@ -0,0 +1,119 @@
+package com.softserve.itacademy.component.schema;
+
+import com.softserve.itacademy.repository.ToDoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs EXPLAIN on the hot repository queries against a seeded dataset and fails as soon
+ * as one of them stops seeking an index. H2 marks a sequential scan as {@code tableScan}
+ * and leaves the condition off an index it walks end to end. H2 indexes foreign keys on its
+ * own, so the check is that every table is reached through a seek, not which index it uses.
+ */
+@SpringBootTest
+@Transactional
+public class QueryPlanTest {
+
+    private static final long FIRST_ID = 1_000_000;
+    private static final int USERS = 50;
+    private static final int TODOS_PER_USER = 10;
+    private static final int TASKS_PER_TODO = 10;
+
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_.]+)(:?)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into states (id, name) values (?, ?)", FIRST_ID, "Plan");
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> todos = new ArrayList<>();
+        List<Object[]> collaborators = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            long userId = FIRST_ID + u;
+            users.add(new Object[]{userId, "user" + u + "@mail.com", "Mike", "Green", "1111", "USER"});
+            for (int d = 0; d < TODOS_PER_USER; d++) {
+                long todoId = FIRST_ID + (long) u * TODOS_PER_USER + d;
+                todos.add(new Object[]{todoId, "todo " + todoId, now, userId});
+                collaborators.add(new Object[]{todoId, FIRST_ID + (u + 1) % USERS});
+                for (int t = 0; t < TASKS_PER_TODO; t++) {
+                    tasks.add(new Object[]{todoId * TASKS_PER_TODO + t, "task " + t, "LOW", todoId, FIRST_ID});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, email, first_name, last_name, password, role, version) " +
+                "values (?, ?, ?, ?, ?, ?, 0)", users);
+        jdbcTemplate.batchUpdate("insert into todos (id, title, created_at, owner_id, version) " +
+                "values (?, ?, ?, ?, 0)", todos);
+        jdbcTemplate.batchUpdate("insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)",
+                collaborators);
+        jdbcTemplate.batchUpdate("insert into tasks (id, name, priority, todo_id, state_id, version) " +
+                "values (?, ?, ?, ?, ?, 0)", tasks);
+    }
+
+    @Test
+    public void testFindUserByEmail() {
+        assertIndexSeeks(explain("select u.id from users u where u.email = lower(?)", "USER7@mail.com"));
+    }
+
+    @Test
+    public void testGetTasksByTodoId() {
+        assertIndexSeeks(explain("select t.id, s.name from tasks t left join states s on s.id = t.state_id " +
+                "where t.todo_id = ? order by t.id", FIRST_ID + 3));
+    }
+
+    @Test
+    public void testGetTasksByStateId() {
+        assertIndexSeeks(explain("select t.id from tasks t where t.state_id = ?", FIRST_ID));
+    }
+
+    @Test
+    public void testGetTodosByUserId() throws NoSuchMethodException {
+        String sql = ToDoRepository.class.getMethod("getByUserId", long.class).getAnnotation(Query.class).value();
+
+        assertIndexSeeks(explain(sql, FIRST_ID + 7));
+    }
+
+    @Test
+    public void testFindTaskIdsByOwnerId() {
+        assertIndexSeeks(explain("select t.id from tasks t join todos d on d.id = t.todo_id where d.owner_id = ?",
+                FIRST_ID + 7));
+    }
+
+    @Test
+    public void testUsersListByLastNamePrefix() {
+        assertIndexSeeks(explain("select u.id, u.email from users u where u.last_name like ? escape '\\' " +
+                "order by u.last_name, u.id fetch first 21 rows only", "Gre%"));
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+    }
+
+    private static void assertIndexSeeks(String plan) {
+        assertFalse(plan.contains("tableScan"), () -> "Sequential scan in plan:\n" + plan);
+        Matcher access = TABLE_ACCESS.matcher(plan);
+        while (access.find()) {
+            String index = access.group(1);
+            assertFalse(access.group(2).isEmpty(), () -> "Full scan of " + index + " in plan:\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.softserve.itacademy.component.security;
+
+import com.softserve.itacademy.config.security.AuthenticatedUser;
+import com.softserve.itacademy.config.security.TokenService;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TokenAuthenticationTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private EntitySnapshotCache snapshotCache;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = new User();
+        user.setFirstName("Nick");
+        user.setLastName("Green");
+        user.setEmail("nick@mail.com");
+        user.setPassword(passwordEncoder.encode("2222"));
+        user.setRole(UserRole.USER);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    public void testLoginIssuesToken() throws Exception {
+        mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"nick@mail.com\", \"password\": \"2222\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+    }
+
+    @Test
+    public void testLoginWithWrongPassword() throws Exception {
+        mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"nick@mail.com\", \"password\": \"1111\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testTokenAuthenticatesRequest() throws Exception {
+        String token = tokenService.issue(AuthenticatedUser.of(user));
+
+        mvc.perform(get("/users/{id}/read", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(view().name("user-info"));
+    }
+
+    @Test
+    public void testTokenCarriesIdentity() {
+        AuthenticatedUser actual = tokenService.verify(tokenService.issue(AuthenticatedUser.of(user))).orElseThrow();
+
+        assertThat(actual).isEqualTo(new AuthenticatedUser(user.getId(), "nick@mail.com", UserRole.USER, "Nick"));
+    }
+
+    @Test
+    public void testForgedTokenIsRejected() throws Exception {
+        String token = tokenService.issue(AuthenticatedUser.of(user));
+
+        mvc.perform(get("/users/{id}/read", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.substring(0, token.length() - 2) + "xx"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testApiRejectsSessionAndBasicAuthentication() throws Exception {
+        MockHttpSession session = (MockHttpSession) mvc.perform(formLogin().user("nick@mail.com").password("2222"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getRequest().getSession();
+
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", 1, 1)
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0, \"priority\": \"HIGH\"}"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", 1, 1)
+                        .with(httpBasic("nick@mail.com", "2222"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0, \"priority\": \"HIGH\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testTokenOfUserPendingDeletionIsRejected() throws Exception {
+        String token = tokenService.issue(AuthenticatedUser.of(user));
+        user.setDeletionRequestedAt(LocalDateTime.now());
+        userRepository.saveAndFlush(user);
+        snapshotCache.evictUser(user.getId());
+
+        mvc.perform(get("/users/{id}/read", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testTokenTakesRoleFromCurrentUser() throws Exception {
+        user.setRole(UserRole.ADMIN);
+        String token = tokenService.issue(AuthenticatedUser.of(userRepository.saveAndFlush(user)));
+        user.setRole(UserRole.USER);
+        userRepository.saveAndFlush(user);
+        snapshotCache.evictUser(user.getId());
+
+        mvc.perform(get("/users/all").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
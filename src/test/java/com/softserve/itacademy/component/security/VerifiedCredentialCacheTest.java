@@ -0,0 +1,72 @@
+package com.softserve.itacademy.component.security;
+
+import com.softserve.itacademy.config.security.AuthenticatedUser;
+import com.softserve.itacademy.config.security.VerifiedCredentialCache;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InMemoryInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VerifiedCredentialCacheTest {
+
+    private final InMemoryInvalidationBus invalidationBus = new InMemoryInvalidationBus();
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedCredentialCache credentialCache;
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        credentialCache = new VerifiedCredentialCache(meterRegistry, invalidationBus, 100, Duration.ofMinutes(5));
+        user = new AuthenticatedUser(1L, "mike@mail.com", UserRole.USER, "Mike");
+    }
+
+    @Test
+    public void testLookupVerifiedCredentials() {
+        credentialCache.put("mike@mail.com", "1111", user);
+
+        assertThat(credentialCache.lookup("mike@mail.com", "1111")).contains(user);
+        assertEquals(1.0, meterRegistry.get("security.credential.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    public void testLookupWrongPassword() {
+        credentialCache.put("mike@mail.com", "1111", user);
+
+        assertThat(credentialCache.lookup("mike@mail.com", "2222")).isEmpty();
+        assertThat(credentialCache.lookup("nick@mail.com", "1111")).isEmpty();
+        assertEquals(2.0, meterRegistry.get("security.credential.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testEvict() {
+        credentialCache.put("mike@mail.com", "1111", user);
+        credentialCache.evict("mike@mail.com");
+
+        assertThat(credentialCache.lookup("mike@mail.com", "1111")).isEmpty();
+    }
+
+    @Test
+    public void testUserChangeEvictsOnEveryNode() {
+        VerifiedCredentialCache otherNode = new VerifiedCredentialCache(new SimpleMeterRegistry(), invalidationBus,
+                100, Duration.ofMinutes(5));
+        AuthenticatedUser nick = new AuthenticatedUser(2L, "nick@mail.com", UserRole.USER, "Nick");
+        for (VerifiedCredentialCache node : new VerifiedCredentialCache[]{credentialCache, otherNode}) {
+            node.put("mike@mail.com", "1111", user);
+            node.put("nick@mail.com", "2222", nick);
+        }
+
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.USER, user.id()));
+
+        assertThat(credentialCache.lookup("mike@mail.com", "1111")).isEmpty();
+        assertThat(otherNode.lookup("mike@mail.com", "1111")).isEmpty();
+        assertThat(otherNode.lookup("nick@mail.com", "2222")).contains(nick);
+    }
+}
@@ -0,0 +1,89 @@
+package com.softserve.itacademy.component.state;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.service.cache.StateRegistry;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InMemoryInvalidationBus;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({StateRegistry.class, InMemoryInvalidationBus.class})
+public class StateRegistryTest {
+
+    private final StateRepository stateRepository;
+    private final StateRegistry stateRegistry;
+    private final InvalidationBus invalidationBus;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public StateRegistryTest(StateRepository stateRepository, StateRegistry stateRegistry,
+                             InvalidationBus invalidationBus, EntityManagerFactory entityManagerFactory) {
+        this.stateRepository = stateRepository;
+        this.stateRegistry = stateRegistry;
+        this.invalidationBus = invalidationBus;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Test
+    public void testLookupsAfterRefresh() {
+        State state = new State();
+        state.setName("New");
+        state = stateRepository.save(state);
+        stateRegistry.refresh();
+
+        assertEquals(state, stateRegistry.findById(state.getId()).orElseThrow());
+        assertEquals(state, stateRegistry.findByName("New").orElseThrow());
+        assertThat(stateRegistry.findByName("Done")).isEmpty();
+        assertThat(stateRegistry.findByName(null)).isEmpty();
+    }
+
+    @Test
+    public void testRefreshReplacesSnapshot() {
+        State state = new State();
+        state.setName("New");
+        stateRepository.save(state);
+        stateRegistry.refresh();
+
+        State done = new State();
+        done.setName("Done");
+        stateRepository.save(done);
+
+        assertThat(stateRegistry.findByName("Done")).isEmpty();
+        stateRegistry.refresh();
+        assertThat(stateRegistry.getAll()).extracting(State::getName).containsExactly("New", "Done");
+        assertThrows(UnsupportedOperationException.class, () -> stateRegistry.getAll().add(new State()));
+    }
+
+    @Test
+    public void testStateChangeReloadsOtherNodes() {
+        StateRegistry otherNode = new StateRegistry(stateRepository, invalidationBus, entityManagerFactory);
+        State state = new State();
+        state.setName("New");
+        state = stateRepository.save(state);
+        stateRegistry.refresh();
+        otherNode.refresh();
+
+        state.setName("Open");
+        stateRepository.save(state);
+        invalidationBus.publish(EntityChange.of(EntityChange.Type.STATE, state.getId()));
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        for (StateRegistry node : List.of(stateRegistry, otherNode)) {
+            assertThat(node.findByName("New")).isEmpty();
+            assertEquals("Open", node.findById(state.getId()).orElseThrow().getName());
+        }
+    }
+}
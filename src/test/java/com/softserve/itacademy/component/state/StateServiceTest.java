@@ -3,6 +3,9 @@ import com.softserve.itacademy.config.exception.NullEntityReferenceException;
 import com.softserve.itacademy.model.State;
 import com.softserve.itacademy.repository.StateRepository;
 import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.cache.StateRegistry;
+import com.softserve.itacademy.service.cache.invalidation.EntityChange;
+import com.softserve.itacademy.service.cache.invalidation.InvalidationBus;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +27,12 @@ public class StateServiceTest {
     @Mock
     private StateRepository stateRepository;
 
+    @Mock
+    private StateRegistry stateRegistry;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
     @InjectMocks
     private StateService stateService;
 
@@ -47,6 +56,8 @@ public class StateServiceTest {
 
         assertEquals(expected, actual);
         verify(stateRepository, times(1)).save(expected);
+        verify(stateRegistry, times(1)).refresh();
+        verify(invalidationBus, times(1)).publish(EntityChange.of(EntityChange.Type.STATE, expected.getId()));
     }
 
     @Test
@@ -61,32 +72,34 @@ public class StateServiceTest {
 
     @Test
     public void testCorrectReadById() {
-        when(stateRepository.findById(anyLong())).thenReturn(Optional.of(expected));
-        State actual = stateService.readById(anyLong());
+        when(stateRegistry.findById(anyLong())).thenReturn(Optional.of(expected));
+        State actual = stateService.readById(0L);
 
         assertEquals(expected, actual);
-        verify(stateRepository, times(1)).findById(anyLong());
+        verify(stateRegistry, times(1)).findById(anyLong());
+        verifyNoInteractions(stateRepository);
     }
 
     @Test
     public void testExceptionReadById() {
         Exception exception = assertThrows(EntityNotFoundException.class, ()
-                -> stateService.readById(anyLong())
+                -> stateService.readById(0L)
         );
 
         assertEquals("State with id 0 not found", exception.getMessage());
-        verify(stateRepository, times(1)).findById(anyLong());
+        verify(stateRegistry, times(1)).findById(anyLong());
     }
 
     @Test
     public void testCorrectUpdate() {
-        when(stateRepository.findById(anyLong())).thenReturn(Optional.of(expected));
+        when(stateRegistry.findById(anyLong())).thenReturn(Optional.of(expected));
         when(stateRepository.save(expected)).thenReturn(expected);
         State actual = stateService.update(expected);
 
         assertEquals(expected, actual);
-        verify(stateRepository, times(1)).findById(anyLong());
+        verify(stateRegistry, times(1)).findById(anyLong());
         verify(stateRepository, times(1)).save(expected);
+        verify(stateRegistry, times(1)).refresh();
         verifyNoMoreInteractions(stateRepository);
     }
 
@@ -102,41 +115,45 @@ public class StateServiceTest {
 
     @Test
     public void testDelete() {
-        when(stateRepository.findById(anyLong())).thenReturn(Optional.of(new State()));
+        when(stateRegistry.findById(anyLong())).thenReturn(Optional.of(new State()));
         doNothing().when(stateRepository).delete(any(State.class));
-        stateService.delete(anyLong());
+        stateService.delete(0L);
 
-        verify(stateRepository, times(1)).findById(anyLong());
+        verify(stateRegistry, times(1)).findById(anyLong());
         verify(stateRepository, times(1)).delete(any(State.class));
+        verify(stateRegistry, times(1)).refresh();
+        verify(invalidationBus, times(1)).publish(EntityChange.of(EntityChange.Type.STATE, 0L));
     }
 
     @Test
     public void testGetAll() {
         List<State> expected = List.of(new State(), new State(), new State());
 
-        when(stateRepository.findAllByOrderById()).thenReturn(expected);
+        when(stateRegistry.getAll()).thenReturn(expected);
         List<State> actual = stateService.getAll();
 
         assertEquals(expected, actual);
-        verify(stateRepository, times(1)).findAllByOrderById();
+        verify(stateRegistry, times(1)).getAll();
+        verifyNoInteractions(stateRepository);
     }
 
     @Test
     public void testCorrectGetByName() {
-        when(stateRepository.findByName(anyString())).thenReturn(expected);
-        State actual = stateService.getByName(anyString());
+        when(stateRegistry.findByName("test state")).thenReturn(Optional.of(expected));
+        State actual = stateService.getByName("test state");
 
         assertEquals(expected, actual);
-        verify(stateRepository, times(1)).findByName(anyString());
+        verify(stateRegistry, times(1)).findByName("test state");
     }
 
     @Test
     public void testExceptionGetByName() {
+        when(stateRegistry.findByName("")).thenReturn(Optional.empty());
         Exception exception = assertThrows(EntityNotFoundException.class, ()
-                -> stateService.getByName(anyString())
+                -> stateService.getByName("")
         );
 
         assertEquals("State with name '' not found", exception.getMessage());
-        verify(stateRepository, times(1)).findByName(anyString());
+        verify(stateRegistry, times(1)).findByName("");
     }
 }
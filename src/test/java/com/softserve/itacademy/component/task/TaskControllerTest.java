@@ -3,14 +3,20 @@ package com.softserve.itacademy.component.task;
 
 import com.softserve.itacademy.config.SpringSecurityTestConfiguration;
 import com.softserve.itacademy.config.WithMockCustomUser;
+import com.softserve.itacademy.config.exception.GlobalExceptionHandler;
 import com.softserve.itacademy.controller.TaskController;
 import com.softserve.itacademy.dto.TaskDto;
 import com.softserve.itacademy.dto.TaskTransformer;
+import com.softserve.itacademy.dto.ToDoSnapshot;
 import com.softserve.itacademy.model.*;
 import com.softserve.itacademy.service.SecurityService;
 import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.cache.StateRegistry;
 import com.softserve.itacademy.service.TaskService;
 import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.merge.EditBase;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,7 +29,9 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -37,6 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ContextConfiguration(classes = {
         TaskController.class,
+        GlobalExceptionHandler.class,
         SpringSecurityTestConfiguration.class,
         TaskTransformer.class,
         SecurityService.class})
@@ -50,8 +59,12 @@ public class TaskControllerTest {
     private ToDoService todoService;
     @MockBean
     private StateService stateService;
+    @MockBean(name = "stateRegistry")
+    private StateRegistry stateRegistry;
     @MockBean
     private SecurityService securityService;
+    @MockBean
+    private UserService userService;
     @Autowired
     private MockMvc mvc;
 
@@ -59,10 +72,9 @@ public class TaskControllerTest {
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testCreateGetMethod() throws Exception {
 
-        ToDo todo = new ToDo();
-        todo.setId(1);
+        ToDoSnapshot todo = new ToDoSnapshot(1, "todo", LocalDateTime.now(), 1L, List.of(), 0);
         when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
-        when(todoService.readById(anyLong())).thenReturn(todo);
+        when(todoService.readSnapshot(anyLong())).thenReturn(todo);
 
         mvc.perform(get("/tasks/create/todos/1")
                         .contentType(MediaType.TEXT_HTML))
@@ -74,7 +86,7 @@ public class TaskControllerTest {
                 .andExpect(model().attribute("priorities", TaskPriority.values()))
                 .andDo(print());
 
-        verify(todoService, times(1)).readById(anyLong());
+        verify(todoService, times(1)).readSnapshot(anyLong());
 
         verifyNoMoreInteractions(todoService);
     }
@@ -110,12 +122,11 @@ public class TaskControllerTest {
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testErrorCreatePostMethod() throws Exception {
 
-        ToDo todo = new ToDo();
-        todo.setId(1);
+        ToDoSnapshot todo = new ToDoSnapshot(1, "todo", LocalDateTime.now(), 1L, List.of(), 0);
 
-        TaskDto taskDto = new TaskDto(0, "", TaskPriority.LOW.name(), todo.getId(), 0);
+        TaskDto taskDto = new TaskDto(0, "", TaskPriority.LOW.name(), todo.id(), 0);
         when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
-        when(todoService.readById(anyLong())).thenReturn(todo);
+        when(todoService.readSnapshot(anyLong())).thenReturn(todo);
 
         mvc.perform(post("/tasks/create/todos/1")
                         .param("name", taskDto.getName())
@@ -132,7 +143,7 @@ public class TaskControllerTest {
                 .andExpect(model().attribute("priorities", TaskPriority.values()))
                 .andDo(print());
 
-        verify(todoService, times(1)).readById(anyLong());
+        verify(todoService, times(1)).readSnapshot(anyLong());
 
         verifyNoMoreInteractions(todoService);
     }
@@ -156,22 +167,21 @@ public class TaskControllerTest {
 
         TaskDto taskDto = taskTransformer.convertToDto(task);
         when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
-        when(taskService.readById(anyLong())).thenReturn(task);
-        when(stateService.getAll()).thenReturn(Collections.singletonList(new State()));
+        when(taskService.readVisibleTo(eq(1L), eq(1L), anyLong())).thenReturn(task);
+        when(stateRegistry.getAll()).thenReturn(Collections.singletonList(state));
 
         mvc.perform(get("/tasks/1/update/todos/1")
                         .contentType(MediaType.TEXT_HTML))
                 .andExpect(status().isOk())
                 .andExpect(view().name("update-task"))
-                .andExpect(model().size(4))
+                .andExpect(model().size(3))
                 .andExpect(model().attribute("task", taskDto))
                 .andExpect(model().attribute("priorities", TaskPriority.values()))
                 .andExpect(model().attribute("todo", todoService.readById(todo.getId())))
-                .andExpect(model().attribute("states", Collections.singletonList(new State())))
                 .andDo(print());
 
-        verify(taskService, times(1)).readById(anyLong());
-        verify(stateService, times(1)).getAll();
+        verify(taskService, times(1)).readVisibleTo(eq(1L), eq(1L), anyLong());
+        verify(stateRegistry, times(1)).getAll();
 
         verifyNoMoreInteractions(taskService, stateService);
     }
@@ -180,9 +190,10 @@ public class TaskControllerTest {
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testCorrectUpdatePostMethod() throws Exception {
         when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
+        when(taskService.readVisibleTo(eq(1L), eq(1L), anyLong())).thenReturn(new Task());
         when(todoService.readById(anyLong())).thenReturn(new ToDo());
         when(stateService.readById(anyLong())).thenReturn(new State());
-        when(taskService.update(any(Task.class))).thenReturn(new Task());
+        when(taskService.update(any(Task.class), any(EditBase.class))).thenReturn(new Task());
 
         mvc.perform(post("/tasks/1/update/todos/1")
                         .param("id", "1")
@@ -197,13 +208,54 @@ public class TaskControllerTest {
                 .andExpect(redirectedUrl("/todos/1/read"))
                 .andDo(print());
 
-        verify(todoService, times(1)).readById(anyLong());
+        verify(taskService, times(1)).readVisibleTo(eq(1L), eq(1L), anyLong());
+        verify(todoService, times(1)).readById(1L);
         verify(stateService, times(1)).readById(anyLong());
-        verify(taskService, times(1)).update(any(Task.class));
+        verify(taskService, times(1)).update(any(Task.class), any(EditBase.class));
 
         verifyNoMoreInteractions(todoService, stateService, taskService);
     }
 
+    @Test
+    @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
+    public void testUpdatePostMethodWithTaskOfOtherTodo() throws Exception {
+        when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
+        when(taskService.readVisibleTo(eq(7L), eq(1L), anyLong()))
+                .thenThrow(new EntityNotFoundException("Task with id 7 not found"));
+
+        mvc.perform(post("/tasks/7/update/todos/1")
+                        .param("id", "7")
+                        .param("name", "Task #7")
+                        .param("priority", TaskPriority.LOW.name())
+                        .param("stateId", "1")
+                        .param("todoId", "1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+
+        verify(taskService, never()).update(any(Task.class), any(EditBase.class));
+    }
+
+    @Test
+    @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
+    public void testUpdatePostMethodMovingTaskToOtherTodo() throws Exception {
+        when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
+
+        mvc.perform(post("/tasks/1/update/todos/1")
+                        .param("id", "1")
+                        .param("name", "Task #1")
+                        .param("priority", TaskPriority.LOW.name())
+                        .param("stateId", "1")
+                        .param("todoId", "2")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+
+        verifyNoInteractions(taskService, todoService);
+    }
+
 //    @Test
 //    @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
 //    public void testErrorUpdatePostMethod() throws Exception {
@@ -237,7 +289,7 @@ public class TaskControllerTest {
     @WithMockCustomUser(id = 1, email = "mike@mail.com", role = UserRole.ADMIN)
     public void testDeleteGetMethod() throws Exception {
         when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
-        doNothing().when(taskService).delete(anyLong());
+        doNothing().when(taskService).delete(anyLong(), anyLong());
 
         mvc.perform(get("/tasks/1/delete/todos/1")
                         .contentType(MediaType.TEXT_HTML))
@@ -245,9 +297,23 @@ public class TaskControllerTest {
                 .andExpect(redirectedUrl("/todos/1/read"))
                 .andDo(print());
 
-        verify(taskService, times(1)).delete(anyLong());
+        verify(taskService, times(1)).delete(1L, 1L);
 
         verifyNoMoreInteractions(taskService);
     }
 
+    @Test
+    @WithMockCustomUser(id = 1, email = "mike@mail.com", role = UserRole.ADMIN)
+    public void testDeleteGetMethodWithTaskOfOtherTodo() throws Exception {
+        when(securityService.isOwnerOrCollaborator(anyLong())).thenReturn(true);
+        doThrow(new EntityNotFoundException("Task with id 7 not found")).when(taskService).delete(7L, 1L);
+
+        mvc.perform(get("/tasks/7/delete/todos/1")
+                        .contentType(MediaType.TEXT_HTML))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+
+        verify(taskService, times(1)).delete(7L, 1L);
+    }
+
 }
@@ -0,0 +1,70 @@
+package com.softserve.itacademy.component.task;
+
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput for tasks. Off by default; run with
+ * {@code mvn test -Dtest=TaskInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.tasks=100000]}.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TaskInsertBenchmarkTest {
+
+    private static final int TASK_COUNT = Integer.getInteger("benchmark.tasks", 100_000);
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void insertTasks() {
+        ToDo todo = new ToDo();
+        todo.setTitle("benchmark todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(todo);
+        entityManager.flush();
+        long todoId = todo.getId();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+
+        for (int i = 1; i <= TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setName("Task #" + i);
+            task.setPriority(TaskPriority.MEDIUM);
+            task.setTodo(todo);
+            entityManager.persist(task);
+            if (i % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                todo = entityManager.getReference(ToDo.class, todoId);
+            }
+        }
+        entityManager.flush();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Inserted {} tasks in {} ms ({} tasks/s), {} JDBC statements",
+                TASK_COUNT, elapsed.toMillis(), TASK_COUNT * 1000L / Math.max(elapsed.toMillis(), 1), statements);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TASK_COUNT);
+        assertThat(statements).isLessThan(TASK_COUNT / 10);
+    }
+}
@@ -2,8 +2,11 @@ package com.softserve.itacademy.component.task;
 
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
 import com.softserve.itacademy.repository.TaskRepository;
 import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,17 +16,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class TaskRepositoryTest {
 
     private final ToDoRepository todoRepository;
     private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
 
     @Autowired
-    public TaskRepositoryTest(ToDoRepository todoRepository, TaskRepository taskRepository) {
+    public TaskRepositoryTest(ToDoRepository todoRepository, TaskRepository taskRepository,
+                              UserRepository userRepository) {
         this.todoRepository = todoRepository;
         this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
     }
 
     @Test
@@ -107,4 +114,41 @@ public class TaskRepositoryTest {
 
         assertArrayEquals(expected.toArray(), actual.toArray());
     }
+
+    @Test
+    @DisplayName("Find a visible task only through the todo it belongs to")
+    public void testFindByIdVisibleToChecksTodo() {
+        User owner = userRepository.save(createUser("mike@mail.com"));
+        User stranger = userRepository.save(createUser("nick@mail.com"));
+        ToDo todo1 = todoRepository.save(createTodo("test todo #1", owner));
+        ToDo todo2 = todoRepository.save(createTodo("test todo #2", owner));
+        ToDo strangersTodo = todoRepository.save(createTodo("test todo #3", stranger));
+
+        Task task = new Task();
+        task.setName("test task #1");
+        task.setTodo(todo1);
+        task = taskRepository.save(task);
+
+        assertTrue(taskRepository.findByIdVisibleTo(task.getId(), todo1.getId(), owner.getId()).isPresent());
+        assertTrue(taskRepository.findByIdVisibleTo(task.getId(), todo2.getId(), owner.getId()).isEmpty());
+        assertTrue(taskRepository.findByIdVisibleTo(task.getId(), strangersTodo.getId(), stranger.getId()).isEmpty());
+    }
+
+    private static ToDo createTodo(String title, User owner) {
+        ToDo todo = new ToDo();
+        todo.setTitle(title);
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        return todo;
+    }
+
+    private static User createUser(String email) {
+        User user = new User();
+        user.setFirstName("Mike");
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
 }
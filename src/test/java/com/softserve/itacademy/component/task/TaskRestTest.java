@@ -0,0 +1,260 @@
+package com.softserve.itacademy.component.task;
+
+import com.softserve.itacademy.config.security.AuthenticatedUser;
+import com.softserve.itacademy.config.security.TokenService;
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.StateService;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+public class TaskRestTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private StateService stateService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TodoAccessIndex accessIndex;
+
+    private User owner;
+    private ToDo todo;
+    private State done;
+    private Task task1;
+    private Task task2;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(createUser("Mike", "mike@mail.com"));
+
+        State state = new State();
+        state.setName("New");
+        stateService.create(state);
+        done = new State();
+        done.setName("Done");
+        done = stateService.create(done);
+
+        todo = new ToDo();
+        todo.setTitle("batch todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(new ArrayList<>());
+        todo = todoService.create(todo);
+
+        task1 = taskRepository.save(createTask("Task #1"));
+        task2 = taskRepository.save(createTask("Task #2"));
+    }
+
+    @Test
+    public void testApplyBatch() throws Exception {
+        String body = "[" +
+                "{\"op\": \"CREATE\", \"task\": {\"name\": \"Task #3\", \"priority\": \"HIGH\"}}," +
+                "{\"op\": \"UPDATE_STATE\", \"task\": {\"id\": " + task1.getId() + ", \"stateId\": " + done.getId() + "}}," +
+                "{\"op\": \"DELETE\", \"task\": {\"id\": " + task2.getId() + "}}," +
+                "{\"op\": \"DELETE\", \"task\": {\"id\": 999999}}," +
+                "{\"op\": \"CREATE\", \"task\": {\"name\": \"\", \"priority\": \"HIGH\"}}" +
+                "]";
+
+        mvc.perform(post("/api/todos/{todoId}/tasks/batch", todo.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("UPDATED"))
+                .andExpect(jsonPath("$[2].status").value("DELETED"))
+                .andExpect(jsonPath("$[3].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[4].status").value("INVALID"));
+
+        entityManager.clear();
+        assertThat(taskRepository.getByTodoId(todo.getId()))
+                .extracting(Task::getName, task -> task.getState().getName())
+                .containsExactly(
+                        tuple("Task #1", "Done"),
+                        tuple("Task #3", "New"));
+    }
+
+    @Test
+    public void testApplyBatchRequiresAccessToTodo() throws Exception {
+        User stranger = userRepository.save(createUser("Nora", "nora@mail.com"));
+
+        mvc.perform(post("/api/todos/{todoId}/tasks/batch", todo.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(stranger)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"op\": \"DELETE\", \"task\": {\"id\": " + task1.getId() + "}}]"))
+                .andExpect(status().isForbidden());
+
+        assertThat(taskRepository.existsById(task1.getId())).isTrue();
+    }
+
+    @Test
+    public void testPatchChangesOnlySuppliedFields() throws Exception {
+        entityManager.flush();
+        // the index learns of the to-do on commit, which this test transaction never reaches
+        accessIndex.rebuild();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), task1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": " + task1.getVersion() + ", \"name\": \"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(task1.getId()))
+                .andExpect(jsonPath("$.version").value(task1.getVersion() + 1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        Task actual = taskRepository.findById(task1.getId()).orElseThrow();
+        assertEquals("Renamed", actual.getName());
+        assertEquals(TaskPriority.LOW, actual.getPriority());
+        assertEquals(task1.getVersion() + 1, actual.getVersion());
+    }
+
+    @Test
+    public void testPatchWithStaleVersion() throws Exception {
+        String token = tokenService.issue(AuthenticatedUser.of(owner));
+        String body = "{\"version\": " + task1.getVersion() + ", \"priority\": \"HIGH\"}";
+
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), task1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), task1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    public void testPatchWithoutVersion() throws Exception {
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), task1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail").value("version: must not be null"));
+    }
+
+    @Test
+    public void testApplyBatchWithUnknownOperation() throws Exception {
+        mvc.perform(post("/api/todos/{todoId}/tasks/batch", todo.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"op\": \"RENAME\", \"task\": {\"id\": " + task1.getId() + "}}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    public void testApplyBatchWithMalformedJson() throws Exception {
+        mvc.perform(post("/api/todos/{todoId}/tasks/batch", todo.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"op\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @Test
+    public void testPatchWithUnknownPriority() throws Exception {
+        entityManager.flush();
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), task1.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": " + task1.getVersion() + ", \"priority\": \"URGENT\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+        entityManager.clear();
+        assertEquals(TaskPriority.LOW, taskRepository.findById(task1.getId()).orElseThrow().getPriority());
+    }
+
+    @Test
+    public void testPatchWithNonNumericTaskId() throws Exception {
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), "abc")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail").value("taskId: invalid value 'abc'"));
+    }
+
+    @Test
+    public void testPatchUnknownTask() throws Exception {
+        mvc.perform(patch("/api/todos/{todoId}/tasks/{taskId}", todo.getId(), 999999)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthenticatedUser.of(owner)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0, \"name\": \"Renamed\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+
+    private Task createTask(String name) {
+        Task task = new Task();
+        task.setName(name);
+        task.setPriority(TaskPriority.LOW);
+        task.setTodo(todo);
+        return task;
+    }
+}
@@ -3,6 +3,7 @@ package com.softserve.itacademy.component.task;
 
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
 
+import com.softserve.itacademy.dto.TaskListItemDto;
 import com.softserve.itacademy.model.Task;
 import com.softserve.itacademy.model.TaskPriority;
 import com.softserve.itacademy.repository.TaskRepository;
@@ -108,12 +109,20 @@ public class TaskServiceTest {
 
     @Test
     public void testDelete() {
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(new Task()));
-        doNothing().when(taskRepository).delete(any(Task.class));
-        taskService.delete(anyLong());
+        when(taskRepository.deleteInTodo(1L, List.of(2L))).thenReturn(1);
+        taskService.delete(2L, 1L);
 
-        verify(taskRepository, times(1)).findById(anyLong());
-        verify(taskRepository, times(1)).delete(any(Task.class));
+        verify(taskRepository, times(1)).deleteInTodo(1L, List.of(2L));
+    }
+
+    @Test
+    public void testDeleteTaskOfOtherTodo() {
+        when(taskRepository.deleteInTodo(1L, List.of(2L))).thenReturn(0);
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> taskService.delete(2L, 1L));
+
+        assertEquals("Task with id 2 not found", exception.getMessage());
+        verify(taskRepository, never()).delete(any(Task.class));
     }
 
     @Test
@@ -137,4 +146,16 @@ public class TaskServiceTest {
         assertEquals(expected, actual);
         verify(taskRepository, times(1)).getByTodoId(anyLong());
     }
+
+    @Test
+    public void testGetListItemsByTodoId() {
+        expected.setId(3L);
+        expected.getState().setName("New");
+        when(taskRepository.getByTodoId(1L)).thenReturn(List.of(expected));
+
+        List<TaskListItemDto> actual = taskService.getListItemsByTodoId(1L);
+
+        assertEquals(List.of(new TaskListItemDto(3L, "test task", TaskPriority.MEDIUM, "New")), actual);
+        verify(taskRepository, times(1)).getByTodoId(1L);
+    }
 }
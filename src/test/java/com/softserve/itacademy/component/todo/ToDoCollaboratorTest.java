@@ -0,0 +1,126 @@
+package com.softserve.itacademy.component.todo;
+
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.ToDoService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ToDoCollaboratorTest {
+
+    private static final int COLLABORATORS = 20;
+
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ToDoRepository todoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ToDo todo;
+    private List<User> collaborators;
+    private User newcomer;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        User owner = userRepository.save(createUser("Mike", "mike@mail.com"));
+        collaborators = new ArrayList<>();
+        for (int i = 0; i < COLLABORATORS; i++) {
+            collaborators.add(userRepository.save(createUser("Nick", "nick" + i + "@mail.com")));
+        }
+        newcomer = userRepository.save(createUser("Nora", "nora@mail.com"));
+
+        todo = new ToDo();
+        todo.setTitle("shared todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(new ArrayList<>(collaborators));
+        todo = todoService.create(todo);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testAddCollaboratorWritesRowsDirectly() {
+        todoService.addCollaborator(todo.getId(), newcomer);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(COLLABORATORS + 1, countCollaborators());
+        assertEquals(1, countMemberships(newcomer));
+        assertEquals(todo.getVersion(), todoRepository.findById(todo.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testAddExistingCollaboratorIsNoOp() {
+        todoService.addCollaborator(todo.getId(), collaborators.get(0));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(COLLABORATORS, countCollaborators());
+        assertEquals(1, countMemberships(collaborators.get(0)));
+    }
+
+    @Test
+    public void testRemoveCollaboratorWritesRowsDirectly() {
+        todoService.removeCollaborator(todo.getId(), collaborators.get(0));
+        todoService.removeCollaborator(todo.getId(), collaborators.get(0));
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(COLLABORATORS - 1, countCollaborators());
+        assertEquals(0, countMemberships(collaborators.get(0)));
+    }
+
+    @Test
+    public void testDuplicateCollaboratorRowIsRejected() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into todo_collaborator (todo_id, collaborator_id) values (?, ?)",
+                todo.getId(), collaborators.get(0).getId()));
+    }
+
+    private int countCollaborators() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from todo_collaborator where todo_id = ?", Integer.class, todo.getId());
+    }
+
+    private int countMemberships(User user) {
+        return jdbcTemplate.queryForObject("select count(*) from todo_membership where todo_id = ? and user_id = ?",
+                Integer.class, todo.getId(), user.getId());
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
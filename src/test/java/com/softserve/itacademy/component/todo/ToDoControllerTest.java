@@ -3,6 +3,9 @@ package com.softserve.itacademy.component.todo;
 import com.softserve.itacademy.config.SpringSecurityTestConfiguration;
 import com.softserve.itacademy.config.WithMockCustomUser;
 import com.softserve.itacademy.controller.ToDoController;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.ToDoListItemDto;
+import com.softserve.itacademy.dto.userDto.UserSummaryDto;
 import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.model.UserRole;
@@ -23,7 +26,9 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -145,4 +150,46 @@ public class ToDoControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/todos/all/users/1"));
     }
+
+    @Test
+    @WithMockCustomUser(email = "user@mail.com", role = UserRole.USER)
+    public void shouldRenderNextToDoPage() throws Exception {
+        long userId = 1L;
+        ToDoListItemDto todo = new ToDoListItemDto(21L, "ToDo #21", LocalDateTime.now(), userId, "Mike", "Green");
+        KeysetPage<ToDoListItemDto> page = new KeysetPage<>(List.of(todo), "next");
+
+        when(toDoService.getPageByUserId(userId, "cursor", 20)).thenReturn(page);
+
+        mvc.perform(get("/todos/all/users/{user_id}/page", userId)
+                        .param("after", "cursor")
+                        .param("start", "20"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("read-user :: todo-rows"))
+                .andExpect(model().attribute("nextCursor", "next"))
+                .andExpect(model().attribute("start", 20))
+                .andExpect(content().string(containsString("data-next-cursor=\"next\"")))
+                .andExpect(content().string(containsString("ToDo #21")));
+
+        verify(toDoService, times(1)).getPageByUserId(userId, "cursor", 20);
+        verifyNoMoreInteractions(toDoService);
+    }
+
+    @Test
+    @WithMockCustomUser(email = "user@mail.com", role = UserRole.USER)
+    public void shouldRenderToDoListFromProjections() throws Exception {
+        long userId = 1L;
+        ToDoListItemDto todo = new ToDoListItemDto(21L, "ToDo #21", LocalDateTime.now(), 2L, "Nick", "Brown");
+
+        when(toDoService.getPageByUserId(userId, null, ToDoService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new KeysetPage<>(List.of(todo), null));
+        when(userService.getSummary(userId)).thenReturn(new UserSummaryDto(userId, "Mike", "Green"));
+
+        mvc.perform(get("/todos/all/users/{user_id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(view().name("read-user"))
+                .andExpect(content().string(containsString("All To-Dos of Mike Green")))
+                .andExpect(content().string(containsString("Nick Brown")));
+
+        verify(userService, never()).readById(anyLong());
+    }
 }
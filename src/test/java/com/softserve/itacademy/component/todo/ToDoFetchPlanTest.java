@@ -0,0 +1,109 @@
+package com.softserve.itacademy.component.todo;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ToDoFetchPlanTest {
+
+    private static final int TASK_COUNT = 100;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ToDoRepository todoRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private StateRepository stateRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private ToDo todo;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(createUser("Mike", "mike@mail.com"));
+        User collaborator1 = userRepository.save(createUser("Nick", "nick@mail.com"));
+        User collaborator2 = userRepository.save(createUser("Nora", "nora@mail.com"));
+
+        List<State> states = List.of(createState("New"), createState("Doing"), createState("Done"));
+
+        todo = new ToDo();
+        todo.setTitle("test todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(List.of(collaborator1, collaborator2));
+        todo = todoRepository.save(todo);
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setName("task #" + i);
+            task.setPriority(TaskPriority.LOW);
+            task.setTodo(todo);
+            task.setState(states.get(i % states.size()));
+            taskRepository.save(task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("The read-todo page data is loaded in two statements regardless of the task count")
+    public void testReadTodoPageStatementCount() {
+        ToDo loaded = todoRepository.findWithCollaboratorsById(todo.getId()).orElseThrow();
+        List<Task> tasks = taskRepository.getByTodoId(todo.getId());
+
+        // everything read-todo.html touches
+        loaded.getOwner().getFirstName();
+        loaded.getCollaborators().forEach(User::getFirstName);
+        tasks.forEach(task -> task.getState().getName());
+
+        assertEquals(TASK_COUNT, tasks.size());
+        assertEquals(2, loaded.getCollaborators().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+
+    private State createState(String name) {
+        State state = new State();
+        state.setName(name);
+        return stateRepository.save(state);
+    }
+}
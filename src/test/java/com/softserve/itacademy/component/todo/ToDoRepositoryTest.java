@@ -2,6 +2,7 @@ package com.softserve.itacademy.component.todo;
 
 import com.softserve.itacademy.model.ToDo;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -14,6 +15,8 @@ import com.softserve.itacademy.repository.ToDoRepository;
 
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class ToDoRepositoryTest {
@@ -34,6 +37,7 @@ public class ToDoRepositoryTest {
         user1.setLastName("Green");
         user1.setEmail("mike@mail.com");
         user1.setPassword("1111");
+        user1.setRole(UserRole.USER);
         user1 = userRepository.save(user1);
 
         User user2 = new User();
@@ -41,6 +45,7 @@ public class ToDoRepositoryTest {
         user2.setLastName("Brown");
         user2.setEmail("nick@mail.com");
         user2.setPassword("2222");
+        user2.setRole(UserRole.USER);
         user2 = userRepository.save(user2);
 
         ToDo todo1 = new ToDo();
@@ -74,6 +79,7 @@ public class ToDoRepositoryTest {
         user1.setLastName("Green");
         user1.setEmail("mike@mail.com");
         user1.setPassword("1111");
+        user1.setRole(UserRole.USER);
         user1 = userRepository.save(user1);
 
         User user2 = new User();
@@ -81,6 +87,7 @@ public class ToDoRepositoryTest {
         user2.setLastName("Brown");
         user2.setEmail("nick@mail.com");
         user2.setPassword("2222");
+        user2.setRole(UserRole.USER);
         user2 = userRepository.save(user2);
 
         ToDo todo1 = new ToDo();
@@ -100,4 +107,47 @@ public class ToDoRepositoryTest {
 
         assertArrayEquals(expected.toArray(), actual.toArray());
     }
+
+    @Test
+    public void testFindByIdVisibleTo() {
+        User owner = new User();
+        owner.setFirstName("Mike");
+        owner.setLastName("Green");
+        owner.setEmail("mike@mail.com");
+        owner.setPassword("1111");
+        owner.setRole(UserRole.USER);
+        owner = userRepository.save(owner);
+
+        User collaborator = new User();
+        collaborator.setFirstName("Nick");
+        collaborator.setLastName("Brown");
+        collaborator.setEmail("nick@mail.com");
+        collaborator.setPassword("2222");
+        collaborator.setRole(UserRole.USER);
+        collaborator = userRepository.save(collaborator);
+
+        User stranger = new User();
+        stranger.setFirstName("Nora");
+        stranger.setLastName("White");
+        stranger.setEmail("nora@mail.com");
+        stranger.setPassword("3333");
+        stranger.setRole(UserRole.USER);
+        stranger = userRepository.save(stranger);
+
+        ToDo todo = new ToDo();
+        todo.setTitle("test todo #1");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(List.of(collaborator));
+        todo = todoRepository.save(todo);
+
+        assertTrue(todoRepository.findByIdVisibleTo(todo.getId(), owner.getId()).isPresent());
+        assertTrue(todoRepository.findByIdVisibleTo(todo.getId(), collaborator.getId()).isPresent());
+        assertTrue(todoRepository.findByIdVisibleTo(todo.getId(), stranger.getId()).isEmpty());
+
+        assertTrue(todoRepository.existsVisibleTo(todo.getId(), collaborator.getId()));
+        assertFalse(todoRepository.existsVisibleTo(todo.getId(), stranger.getId()));
+        assertTrue(todoRepository.existsByIdAndOwnerId(todo.getId(), owner.getId()));
+        assertFalse(todoRepository.existsByIdAndOwnerId(todo.getId(), collaborator.getId()));
+    }
 }
@@ -1,22 +1,36 @@
 package com.softserve.itacademy.component.todo;
 
+import com.softserve.itacademy.config.exception.InvalidCursorException;
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.ToDoCursor;
+import com.softserve.itacademy.dto.ToDoDetailsDto;
+import com.softserve.itacademy.dto.ToDoListItemDto;
+import com.softserve.itacademy.model.MembershipRole;
 import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.TodoMembership;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.TodoMembershipRepository;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.cache.RequestEntityCache;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +40,18 @@ public class ToDoServiceTest {
     @Mock
     private ToDoRepository todoRepository;
 
+    @Spy
+    private RequestEntityCache requestCache;
+
+    @Mock
+    private TodoAccessIndex accessIndex;
+
+    @Mock
+    private TodoMembershipRepository membershipRepository;
+
+    @Mock
+    private EntitySnapshotCache snapshotCache;
+
     @InjectMocks
     private com.softserve.itacademy.service.ToDoService todoService;
 
@@ -51,6 +77,8 @@ public class ToDoServiceTest {
 
         assertEquals(expected, actual);
         verify(todoRepository, times(1)).save(expected);
+        verify(membershipRepository, times(1)).save(argThat((TodoMembership membership)
+                -> membership.getRole() == MembershipRole.OWNER && membership.getUser() == expected.getOwner()));
     }
 
     @Test
@@ -66,7 +94,7 @@ public class ToDoServiceTest {
     @Test
     public void testCorrectReadById() {
         when(todoRepository.findById(anyLong())).thenReturn(Optional.of(expected));
-        ToDo actual = todoService.readById(anyLong());
+        ToDo actual = todoService.readById(0L);
 
         assertEquals(expected, actual);
         verify(todoRepository, times(1)).findById(anyLong());
@@ -75,13 +103,34 @@ public class ToDoServiceTest {
     @Test
     public void testExceptionReadById() {
         Exception exception = assertThrows(EntityNotFoundException.class, ()
-                -> todoService.readById(anyLong())
+                -> todoService.readById(0L)
         );
 
         assertEquals("ToDo with id 0 not found", exception.getMessage());
         verify(todoRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    public void testReadVisibleToOwnerAndCollaborators() {
+        expected.setId(5);
+        expected.getOwner().setId(1);
+        User collaborator = new User();
+        collaborator.setId(2);
+        collaborator.setFirstName("Nick");
+        collaborator.setLastName("Green");
+        expected.setCollaborators(List.of(collaborator));
+        when(todoRepository.findWithCollaboratorsById(5L)).thenReturn(Optional.of(expected));
+        ToDoDetailsDto details = new ToDoDetailsDto(5L, "test todo #1", 1L,
+                List.of(new ToDoDetailsDto.Collaborator(2L, "Nick", "Green")));
+
+        assertEquals(details, todoService.readVisibleTo(5L, 1L));
+        assertEquals(details, todoService.readVisibleTo(5L, 2L));
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> todoService.readVisibleTo(5L, 3L));
+
+        assertEquals("ToDo with id 5 not found", exception.getMessage());
+        verify(todoRepository, never()).findByIdVisibleTo(anyLong(), anyLong());
+    }
+
     @Test
     public void testCorrectUpdate() {
         when(todoRepository.findById(anyLong())).thenReturn(Optional.of(expected));
@@ -105,12 +154,20 @@ public class ToDoServiceTest {
 
     @Test
     public void testDelete() {
-        when(todoRepository.findById(anyLong())).thenReturn(Optional.of(new ToDo()));
-        doNothing().when(todoRepository).delete(any(ToDo.class));
-        todoService.delete(anyLong());
+        when(todoRepository.deleteDirectlyById(0L)).thenReturn(1);
+        todoService.delete(0L);
 
-        verify(todoRepository, times(1)).findById(anyLong());
-        verify(todoRepository, times(1)).delete(any(ToDo.class));
+        verify(todoRepository, times(1)).deleteDirectlyById(0L);
+        verify(snapshotCache, times(1)).evictTodo(0L);
+        verify(todoRepository, never()).findById(anyLong());
+        verify(todoRepository, never()).delete(any(ToDo.class));
+    }
+
+    @Test
+    public void testDeleteMissing() {
+        when(todoRepository.deleteDirectlyById(0L)).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> todoService.delete(0L));
     }
 
     @Test
@@ -134,4 +191,36 @@ public class ToDoServiceTest {
         assertEquals(expected, actual);
         verify(todoRepository, times(1)).getByUserId(anyLong());
     }
+
+    @Test
+    public void testGetPageByUserId() {
+        ToDoListItemDto todo1 = new ToDoListItemDto(1L, "todo #1", LocalDateTime.of(2024, 1, 1, 12, 0), 1L, "Mike", "Green");
+        ToDoListItemDto todo2 = new ToDoListItemDto(2L, "todo #2", LocalDateTime.of(2024, 1, 2, 12, 0), 1L, "Mike", "Green");
+
+        when(membershipRepository.findFirstTodoPage(1L, Limit.of(2))).thenReturn(List.of(todo1, todo2));
+        when(membershipRepository.findTodoPageAfter(1L, todo1.createdAt(), 1L, Limit.of(2))).thenReturn(List.of(todo2));
+
+        KeysetPage<ToDoListItemDto> first = todoService.getPageByUserId(1L, null, 1);
+        KeysetPage<ToDoListItemDto> second = todoService.getPageByUserId(1L, first.nextCursor(), 1);
+
+        assertEquals(List.of(todo1), first.content());
+        assertEquals(new ToDoCursor(todo1.createdAt(), 1L), ToDoCursor.decode(first.nextCursor()));
+        assertEquals(List.of(todo2), second.content());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    public void testGetPageByUserIdClampsPageSize() {
+        when(membershipRepository.findFirstTodoPage(anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        todoService.getPageByUserId(1L, "", 10_000);
+
+        verify(membershipRepository, times(1)).findFirstTodoPage(1L, Limit.of(com.softserve.itacademy.service.ToDoService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void testGetPageByUserIdWithInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> todoService.getPageByUserId(1L, "not-a-cursor", 20));
+        verifyNoInteractions(membershipRepository);
+    }
 }
@@ -0,0 +1,80 @@
+package com.softserve.itacademy.component.todo;
+
+import com.softserve.itacademy.dto.ToDoListItemDto;
+import com.softserve.itacademy.model.MembershipRole;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.TodoMembership;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.TodoMembershipRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class TodoMembershipRepositoryTest {
+
+    private final UserRepository userRepository;
+    private final ToDoRepository todoRepository;
+    private final TodoMembershipRepository membershipRepository;
+
+    @Autowired
+    public TodoMembershipRepositoryTest(UserRepository userRepository, ToDoRepository todoRepository,
+                                        TodoMembershipRepository membershipRepository) {
+        this.userRepository = userRepository;
+        this.todoRepository = todoRepository;
+        this.membershipRepository = membershipRepository;
+    }
+
+    @Test
+    public void testFindTodoPageAfter() {
+        User owner = saveUser("Mike", "mike@mail.com");
+        User collaborator = saveUser("Nick", "nick@mail.com");
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        ToDo todo1 = saveTodo("test todo #1", createdAt.plusDays(1), owner);
+        ToDo todo2 = saveTodo("test todo #2", createdAt, owner);
+        ToDo todo3 = saveTodo("test todo #3", createdAt, collaborator);
+        membershipRepository.saveAll(List.of(
+                new TodoMembership(todo1, owner, MembershipRole.OWNER),
+                new TodoMembership(todo2, owner, MembershipRole.OWNER),
+                new TodoMembership(todo2, collaborator, MembershipRole.COLLABORATOR),
+                new TodoMembership(todo3, collaborator, MembershipRole.OWNER)));
+
+        List<ToDoListItemDto> first = membershipRepository.findFirstTodoPage(collaborator.getId(), Limit.of(1));
+        List<ToDoListItemDto> rest = membershipRepository.findTodoPageAfter(collaborator.getId(),
+                first.get(0).createdAt(), first.get(0).id(), Limit.of(10));
+        List<ToDoListItemDto> ownerTodos = membershipRepository.findFirstTodoPage(owner.getId(), Limit.of(10));
+
+        assertEquals(List.of(new ToDoListItemDto(todo2.getId(), "test todo #2", createdAt,
+                owner.getId(), "Mike", owner.getLastName())), first);
+        assertEquals(List.of(todo3.getId()), rest.stream().map(ToDoListItemDto::id).toList());
+        assertEquals(List.of(todo2.getId(), todo1.getId()), ownerTodos.stream().map(ToDoListItemDto::id).toList());
+    }
+
+    private User saveUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return userRepository.save(user);
+    }
+
+    private ToDo saveTodo(String title, LocalDateTime createdAt, User owner) {
+        ToDo todo = new ToDo();
+        todo.setTitle(title);
+        todo.setCreatedAt(createdAt);
+        todo.setOwner(owner);
+        return todoRepository.save(todo);
+    }
+}
@@ -2,14 +2,21 @@ package com.softserve.itacademy.component.user;
 
 import com.softserve.itacademy.config.SpringSecurityTestConfiguration;
 import com.softserve.itacademy.config.WithMockCustomUser;
+import com.softserve.itacademy.config.security.VerifiedCredentialCache;
 import com.softserve.itacademy.controller.UserController;
 import com.softserve.itacademy.dto.userDto.CreateUserDto;
 import com.softserve.itacademy.dto.userDto.UserDto;
 import com.softserve.itacademy.dto.userDto.UserDtoConverter;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
+import com.softserve.itacademy.dto.userDto.UserSnapshot;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.model.UserRole;
 import com.softserve.itacademy.repository.UserRepository;
 import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.purge.UserPurgeJob;
+import com.softserve.itacademy.service.purge.UserPurgeProgress;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +34,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -47,6 +55,10 @@ public class UserControllerTest {
     private UserRepository userRepository;
     @MockBean
     private PasswordEncoder passwordEncoder;
+    @MockBean
+    private VerifiedCredentialCache credentialCache;
+    @MockBean
+    private UserPurgeJob purgeJob;
 
     @Autowired
     private MockMvc mvc;
@@ -89,7 +101,6 @@ public class UserControllerTest {
     @Test
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testCorrectCreatePostMethod() throws Exception {
-        when(passwordEncoder.encode(anyString())).thenReturn("");
         when(userService.create(any(User.class))).thenReturn(new User());
 
         mvc.perform(post("/users/create")
@@ -136,17 +147,20 @@ public class UserControllerTest {
     @Test
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testReadGetMethod() throws Exception {
-        when(userService.readById(anyLong())).thenReturn(userWithRoleAdmin);
+        UserSnapshot user = UserSnapshot.of(userWithRoleAdmin);
+        when(userService.readSnapshot(anyLong())).thenReturn(user);
 
         mvc.perform(get("/users/1/read")
                         .contentType(MediaType.TEXT_HTML))
                 .andExpect(status().isOk())
                 .andExpect(view().name("user-info"))
                 .andExpect(model().size(1))
-                .andExpect(model().attribute("user", userWithRoleAdmin))
+                .andExpect(model().attribute("user", user))
+                .andExpect(content().string(containsString(userWithRoleAdmin.getEmail())))
+                .andExpect(content().string(containsString(UserRole.ADMIN.name())))
                 .andDo(print());
 
-        verify(userService, times(1)).readById(anyLong());
+        verify(userService, times(1)).readSnapshot(anyLong());
 
         verifyNoMoreInteractions(passwordEncoder, userService);
     }
@@ -173,9 +187,7 @@ public class UserControllerTest {
     @Test
     @WithMockCustomUser(email = "nick@mail.com")
     public void testCorrectUpdatePostMethodWithRoleUSERAndCorrectPassword() throws Exception {
-        when(userService.findByUsername("nick@mail.com")).thenReturn(Optional.of(userWithRoleUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(userRepository.save(any(User.class))).thenReturn(userWithRoleUser);
+        when(userService.changePassword("nick@mail.com", "2222", "newPassword")).thenReturn(Optional.of(userWithRoleUser));
 
         mvc.perform(post("/users/change-password")
                         .param("firstName", userWithRoleUser.getFirstName())
@@ -188,16 +200,13 @@ public class UserControllerTest {
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_FORM_URLENCODED));
 
-        verify(userService, times(1)).findByUsername("nick@mail.com");
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userService, times(1)).changePassword("nick@mail.com", "2222", "newPassword");
     }
 
     @Test
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testCorrectUpdatePostMethodWithRoleADMINAndCorrectPassword() throws Exception {
-        when(userService.findByUsername("mike@mail.com")).thenReturn(Optional.of(userWithRoleAdmin));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(userRepository.save(any(User.class))).thenReturn(userWithRoleAdmin);
+        when(userService.changePassword("mike@mail.com", "1111", "newpassword")).thenReturn(Optional.of(userWithRoleAdmin));
 
         mvc.perform(post("/users/change-password")
                         .param("firstName", userWithRoleAdmin.getFirstName())
@@ -213,17 +222,13 @@ public class UserControllerTest {
                 .andExpect(redirectedUrl("/users/all?success=true"))
                 .andDo(print());
 
-        verify(userService, times(1)).findByUsername("mike@mail.com");
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userService, times(1)).changePassword("mike@mail.com", "1111", "newpassword");
     }
 
     @Test
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testErrorUpdatePostMethodWithRoleADMINAndInvalidPassword() throws Exception {
-        when(userService.readById(anyLong())).thenReturn(userWithRoleAdmin);
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(userWithRoleAdmin);
-        when(userService.findByUsername(anyString())).thenReturn(Optional.of(userWithRoleAdmin));
+        when(userService.changePassword(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
 
         mvc.perform(post("/users/change-password")
                         .param("firstName", userWithRoleAdmin.getFirstName())
@@ -239,7 +244,7 @@ public class UserControllerTest {
                 .andExpect(redirectedUrl("/users/change-password?error=true"))
                 .andDo(print());
 
-        verify(userService, times(1)).findByUsername(anyString());
+        verify(userService, times(1)).changePassword("mike@mail.com", "3333", "5555");
     }
 
     @Test
@@ -283,7 +288,7 @@ public class UserControllerTest {
                 .andExpect(redirectedUrl("/login"))
                 .andDo(print());
 
-        verify(userService, times(1)).delete(anyLong());
+        verify(userService, times(1)).requestDeletion(anyLong());
         verify(userService).getCurrentUser();
 
         verifyNoMoreInteractions(passwordEncoder, userService);
@@ -298,29 +303,79 @@ public class UserControllerTest {
                 .andExpect(redirectedUrl("/users/all"))
                 .andDo(print());
 
-        verify(userService, times(1)).delete(anyLong());
+        verify(userService, times(1)).requestDeletion(anyLong());
         verify(userService).getCurrentUser();
 
         verifyNoMoreInteractions(passwordEncoder, userService);
     }
 
+    @Test
+    @WithMockCustomUser(id = 1, email = "mike@mail.com", role = UserRole.ADMIN)
+    public void testDeletionProgress() throws Exception {
+        when(purgeJob.getProgress(2L))
+                .thenReturn(Optional.of(new UserPurgeProgress(2L, UserPurgeProgress.Phase.TODOS, 40)));
+
+        mvc.perform(get("/users/2/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phase").value("TODOS"))
+                .andExpect(jsonPath("$.deletedRows").value(40));
+
+        mvc.perform(get("/users/3/deletion"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
     public void testGetAllGetMethod() throws Exception {
-        when(userService.getAll()).thenReturn(List.of(new User(), new User(), new User()));
+        List<UserListItemDto> users = List.of(
+                new UserListItemDto(1L, "Mike", "Green", "mike@mail.com"),
+                new UserListItemDto(2L, "Nick", "Brown", "nick@mail.com"));
+        when(userService.getListPage(UserListSort.LAST_NAME, null, null, UserService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new KeysetPage<>(users, "next"));
 
         mvc.perform(get("/users/all")
                         .contentType(MediaType.TEXT_HTML))
                 .andExpect(status().isOk())
                 .andExpect(view().name("users-list"))
-                .andExpect(model().size(2))
-                .andExpect(model().attribute("users",
-                        List.of(new User(), new User(), new User())))
+                .andExpect(model().attribute("users", users))
+                .andExpect(model().attribute("nextCursor", "next"))
                 .andExpect(model().attribute("success", "Your password was successfully changed!"))
+                .andExpect(content().string(containsString("nick@mail.com")))
+                .andExpect(content().string(containsString("Load more")))
                 .andDo(print());
 
-        verify(userService, times(1)).getAll();
+        verify(userService, times(1)).getListPage(UserListSort.LAST_NAME, null, null, UserService.DEFAULT_PAGE_SIZE);
 
         verifyNoMoreInteractions(passwordEncoder, userService);
     }
+
+    @Test
+    @WithMockCustomUser(email = "mike@mail.com", role = UserRole.ADMIN)
+    public void testGetNextUsersPage() throws Exception {
+        List<UserListItemDto> users = List.of(new UserListItemDto(3L, "Nora", "White", "nora@mail.com"));
+        when(userService.getListPage(UserListSort.EMAIL, "no", "cursor", 20))
+                .thenReturn(new KeysetPage<>(users, null));
+
+        mvc.perform(get("/users/all/page")
+                        .param("sort", "EMAIL")
+                        .param("q", "no")
+                        .param("after", "cursor")
+                        .param("start", "20"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("users-list :: user-rows"))
+                .andExpect(model().attribute("start", 20))
+                .andExpect(content().string(containsString("<td>21</td>")))
+                .andExpect(content().string(containsString("nora@mail.com")));
+
+        verify(userService, times(1)).getListPage(UserListSort.EMAIL, "no", "cursor", 20);
+    }
+
+    @Test
+    @WithMockCustomUser(email = "nick@mail.com", role = UserRole.USER)
+    public void testGetNextUsersPageForAdminsOnly() throws Exception {
+        mvc.perform(get("/users/all/page").param("after", "cursor"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userService);
+    }
 }
@@ -0,0 +1,160 @@
+package com.softserve.itacademy.component.user;
+
+import com.softserve.itacademy.model.State;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.StateRepository;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.TodoMembershipRepository;
+import com.softserve.itacademy.repository.UserRepository;
+import com.softserve.itacademy.service.ToDoService;
+import com.softserve.itacademy.service.acl.TodoAccessIndex;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.purge.UserPurgeJob;
+import com.softserve.itacademy.service.purge.UserPurgeProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Not transactional on purpose: every chunk of the purge commits on its own.
+ */
+@SpringBootTest
+public class UserPurgeJobTest {
+
+    private static final int TODOS = 3;
+    private static final int TASKS_PER_TODO = 3;
+
+    @Autowired
+    private ToDoService todoService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ToDoRepository todoRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private StateRepository stateRepository;
+    @Autowired
+    private TodoMembershipRepository membershipRepository;
+    @Autowired
+    private TodoAccessIndex accessIndex;
+    @Autowired
+    private EntitySnapshotCache snapshotCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserPurgeJob purgeJob;
+    private User leaving;
+    private User staying;
+    private ToDo sharedTodo;
+    private State state;
+
+    @BeforeEach
+    public void setUp() {
+        purgeJob = new UserPurgeJob(userRepository, todoRepository, taskRepository, membershipRepository,
+                accessIndex, snapshotCache, transactionTemplate, new SyncTaskExecutor(), 2);
+
+        leaving = userRepository.save(createUser("Mike", "mike@mail.com"));
+        staying = userRepository.save(createUser("Nick", "nick@mail.com"));
+
+        state = new State();
+        state.setName("Purge");
+        state = stateRepository.save(state);
+
+        for (int i = 0; i < TODOS; i++) {
+            ToDo todo = todoService.create(createTodo("todo " + i, leaving, new ArrayList<>()));
+            for (int j = 0; j < TASKS_PER_TODO; j++) {
+                Task task = new Task();
+                task.setName("task " + j);
+                task.setPriority(TaskPriority.LOW);
+                task.setTodo(todo);
+                task.setState(state);
+                taskRepository.save(task);
+            }
+        }
+        sharedTodo = todoService.create(createTodo("shared todo", staying, new ArrayList<>(List.of(leaving))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mark(staying);
+        userRepository.findById(leaving.getId()).ifPresent(this::mark);
+        purgeJob.purgePending();
+        stateRepository.deleteById(state.getId());
+    }
+
+    @Test
+    public void testPurgeRemovesEverythingOfMarkedUser() {
+        mark(leaving);
+        assertFalse(userRepository.findById(leaving.getId()).orElseThrow().isEnabled());
+        assertEquals(UserPurgeProgress.Phase.QUEUED, purgeJob.getProgress(leaving.getId()).orElseThrow().phase());
+
+        purgeJob.purgePending();
+
+        assertFalse(userRepository.existsById(leaving.getId()));
+        assertEquals(0, count("select count(*) from todos where owner_id = ?", leaving.getId()));
+        assertEquals(0, count("select count(*) from todo_collaborator where collaborator_id = ?", leaving.getId()));
+        assertEquals(0, count("select count(*) from todo_membership where user_id = ?", leaving.getId()));
+        assertEquals(0, count("select count(*) from tasks where state_id = ?", state.getId()));
+        assertTrue(todoRepository.existsById(sharedTodo.getId()));
+        assertTrue(purgeJob.getProgress(leaving.getId()).isEmpty());
+    }
+
+    @Test
+    public void testPurgeLeavesUnmarkedUsers() {
+        purgeJob.purgePending();
+
+        assertTrue(userRepository.existsById(leaving.getId()));
+        assertEquals(TODOS, count("select count(*) from todos where owner_id = ?", leaving.getId()));
+        assertEquals(TODOS * TASKS_PER_TODO, count("select count(*) from tasks where state_id = ?", state.getId()));
+        assertTrue(purgeJob.getProgress(leaving.getId()).isEmpty());
+    }
+
+    private void mark(User user) {
+        transactionTemplate.executeWithoutResult(
+                status -> userRepository.markForDeletion(user.getId(), LocalDateTime.now()));
+    }
+
+    private int count(String sql, long id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+
+    private ToDo createTodo(String title, User owner, List<User> collaborators) {
+        ToDo todo = new ToDo();
+        todo.setTitle(title);
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(collaborators);
+        return todo;
+    }
+
+    private User createUser(String firstName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Green");
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
@@ -1,11 +1,30 @@
 package com.softserve.itacademy.component.user;
 
+import com.softserve.itacademy.dto.userDto.UserListCursor;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
+import com.softserve.itacademy.dto.userDto.UserSummaryDto;
+import com.softserve.itacademy.model.MembershipRole;
+import com.softserve.itacademy.model.Task;
+import com.softserve.itacademy.model.TaskPriority;
+import com.softserve.itacademy.model.ToDo;
+import com.softserve.itacademy.model.TodoMembership;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.model.UserRole;
+import com.softserve.itacademy.repository.TaskRepository;
+import com.softserve.itacademy.repository.ToDoRepository;
+import com.softserve.itacademy.repository.TodoMembershipRepository;
 import com.softserve.itacademy.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,10 +34,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class UserRepositoryTest {
 
     private final UserRepository userRepository;
+    private final ToDoRepository todoRepository;
+    private final TaskRepository taskRepository;
+    private final TodoMembershipRepository membershipRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TestEntityManager entityManager;
 
     @Autowired
-    public UserRepositoryTest(UserRepository userRepository) {
+    public UserRepositoryTest(UserRepository userRepository, ToDoRepository todoRepository,
+                              TaskRepository taskRepository, TodoMembershipRepository membershipRepository,
+                              JdbcTemplate jdbcTemplate, TestEntityManager entityManager) {
         this.userRepository = userRepository;
+        this.todoRepository = todoRepository;
+        this.taskRepository = taskRepository;
+        this.membershipRepository = membershipRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -28,6 +59,7 @@ public class UserRepositoryTest {
         user1.setLastName("Green");
         user1.setEmail("mike@mail.com");
         user1.setPassword("1111");
+        user1.setRole(UserRole.USER);
         userRepository.save(user1);
 
         User user2 = new User();
@@ -35,6 +67,7 @@ public class UserRepositoryTest {
         user2.setLastName("Brown");
         user2.setEmail("nick@mail.com");
         user2.setPassword("2222");
+        user2.setRole(UserRole.USER);
 
         User expected = userRepository.save(user2);
         User actual = userRepository.findByEmail("nick@mail.com").orElseThrow();
@@ -49,10 +82,192 @@ public class UserRepositoryTest {
         user.setLastName("Green");
         user.setEmail("mike@mail.com");
         user.setPassword("1111");
+        user.setRole(UserRole.USER);
         userRepository.save(user);
 
         Optional<User> actual = userRepository.findByEmail("nick@mail.com");
         
         assertThat(actual).isEmpty();
     }
+
+    @Test
+    public void testGetByEmailIgnoresCase() {
+        User expected = saveUser("Nick", "Brown", "Nick@Mail.com");
+
+        assertEquals("nick@mail.com", expected.getEmail());
+        assertEquals(expected, userRepository.findByEmail("NICK@mail.COM").orElseThrow());
+    }
+
+    @Test
+    public void testListItemProjections() {
+        User mike = saveUser("Mike", "Green", "mike@mail.com");
+        User nick = saveUser("Nick", "Brown", "nick@mail.com");
+
+        assertEquals(List.of(new UserListItemDto(nick.getId(), "Nick", "Brown", "nick@mail.com"),
+                new UserListItemDto(mike.getId(), "Mike", "Green", "mike@mail.com")),
+                userRepository.findListPage(UserListSort.LAST_NAME, null, null, 10));
+        assertEquals(new UserSummaryDto(nick.getId(), "Nick", "Brown"),
+                userRepository.findSummaryById(nick.getId()).orElseThrow());
+        assertThat(userRepository.findSummaryById(-1L)).isEmpty();
+    }
+
+    @Test
+    public void testFindListPageByLastNameContinuesAfterCursor() {
+        User mike = saveUser("Mike", "Green", "mike@mail.com");
+        User nick = saveUser("Nick", "Green", "nick@mail.com");
+        User nora = saveUser("Nora", "White", "nora@mail.com");
+        saveUser("Anna", "Black", "anna@mail.com");
+
+        List<UserListItemDto> firstPage = userRepository.findListPage(UserListSort.LAST_NAME, null, null, 2);
+        List<UserListItemDto> secondPage = userRepository.findListPage(UserListSort.LAST_NAME, "",
+                UserListCursor.of(UserListSort.LAST_NAME, firstPage.get(1)), 2);
+
+        assertThat(firstPage).extracting(UserListItemDto::lastName).containsExactly("Black", "Green");
+        assertThat(secondPage).extracting(UserListItemDto::id).containsExactly(nick.getId(), nora.getId());
+        assertEquals(mike.getId(), firstPage.get(1).id());
+    }
+
+    @Test
+    public void testFindListPageSkipsUsersPendingDeletion() {
+        User mike = saveUser("Mike", "Green", "mike@mail.com");
+        User nick = saveUser("Nick", "Grey", "nick@mail.com");
+        userRepository.markForDeletion(nick.getId(), LocalDateTime.now());
+
+        assertThat(userRepository.findListPage(UserListSort.LAST_NAME, null, null, 10))
+                .extracting(UserListItemDto::id).containsExactly(mike.getId());
+    }
+
+    @Test
+    public void testFindListPageFiltersByPrefixOfSortColumn() {
+        User mike = saveUser("Mike", "Green", "mike@mail.com");
+        User nick = saveUser("Nick", "Grey", "nick@mail.com");
+        saveUser("Nora", "White", "nora@mail.com");
+
+        assertThat(userRepository.findListPage(UserListSort.LAST_NAME, "Gre", null, 10))
+                .extracting(UserListItemDto::id).containsExactly(mike.getId(), nick.getId());
+        assertThat(userRepository.findListPage(UserListSort.EMAIL, "ni", null, 10))
+                .extracting(UserListItemDto::id).containsExactly(nick.getId());
+        assertThat(userRepository.findListPage(UserListSort.ID, null, new UserListCursor(UserListSort.ID, "", mike.getId()), 10))
+                .extracting(UserListItemDto::id).contains(nick.getId()).doesNotContain(mike.getId());
+    }
+
+    @Test
+    public void testFindCollaboratorCandidates() {
+        User owner = saveUser("Mike", "Green", "mike@mail.com");
+        User collaborator = saveUser("Nick", "Brown", "nick@mail.com");
+        User candidate1 = saveUser("Nora", "White", "nora@mail.com");
+        User candidate2 = saveUser("Anna", "Black", "anna@mail.com");
+
+        ToDo todo = new ToDo();
+        todo.setTitle("test todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo.setCollaborators(List.of(collaborator));
+        todo = todoRepository.save(todo);
+
+        Slice<UserSummaryDto> all = userRepository.findCollaboratorCandidates(todo.getId(), PageRequest.of(0, 10));
+        Slice<UserSummaryDto> byName = userRepository.findCollaboratorCandidates(todo.getId(), "Wh%", "wh%", PageRequest.of(0, 10));
+        Slice<UserSummaryDto> byEmail = userRepository.findCollaboratorCandidates(todo.getId(), "Ann%", "ann%", PageRequest.of(0, 10));
+
+        assertThat(all.getContent()).extracting(UserSummaryDto::getId)
+                .containsExactly(candidate2.getId(), candidate1.getId());
+        assertThat(byName.getContent()).extracting(UserSummaryDto::getId)
+                .containsExactly(candidate1.getId());
+        assertThat(byEmail.getContent()).extracting(UserSummaryDto::getId)
+                .containsExactly(candidate2.getId());
+    }
+
+    @Test
+    public void testFindCollaboratorCandidatesSkipsUsersPendingDeletion() {
+        User owner = saveUser("Mike", "Green", "mike@mail.com");
+        User candidate = saveUser("Nora", "White", "nora@mail.com");
+        User leaving = saveUser("Anna", "Black", "anna@mail.com");
+        userRepository.markForDeletion(leaving.getId(), LocalDateTime.now());
+
+        ToDo todo = new ToDo();
+        todo.setTitle("test todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo = todoRepository.save(todo);
+
+        assertThat(userRepository.findCollaboratorCandidates(todo.getId(), PageRequest.of(0, 10)).getContent())
+                .extracting(UserSummaryDto::getId).containsExactly(candidate.getId());
+    }
+
+    @Test
+    public void testFindCollaboratorCandidatesPaged() {
+        User owner = saveUser("Mike", "Green", "mike@mail.com");
+        saveUser("Nora", "White", "nora@mail.com");
+        saveUser("Anna", "Black", "anna@mail.com");
+
+        ToDo todo = new ToDo();
+        todo.setTitle("test todo");
+        todo.setCreatedAt(LocalDateTime.now());
+        todo.setOwner(owner);
+        todo = todoRepository.save(todo);
+
+        Slice<UserSummaryDto> first = userRepository.findCollaboratorCandidates(todo.getId(), PageRequest.of(0, 1));
+        Slice<UserSummaryDto> second = userRepository.findCollaboratorCandidates(todo.getId(), first.nextPageable());
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        assertEquals("Nora", second.getContent().get(0).getFirstName());
+    }
+
+    @Test
+    public void testDeleteDirectlyCascadesInDatabase() {
+        User owner = saveUser("Mike", "Green", "mike@mail.com");
+        User collaborator = saveUser("Nick", "Brown", "nick@mail.com");
+
+        ToDo owned = new ToDo();
+        owned.setTitle("owned todo");
+        owned.setCreatedAt(LocalDateTime.now());
+        owned.setOwner(owner);
+        owned.setCollaborators(List.of(collaborator));
+        owned = todoRepository.save(owned);
+
+        ToDo shared = new ToDo();
+        shared.setTitle("shared todo");
+        shared.setCreatedAt(LocalDateTime.now());
+        shared.setOwner(collaborator);
+        shared.setCollaborators(List.of(owner));
+        shared = todoRepository.save(shared);
+
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setName("Task #" + i);
+            task.setPriority(TaskPriority.LOW);
+            task.setTodo(owned);
+            taskRepository.save(task);
+        }
+        membershipRepository.save(new TodoMembership(owned, owner, MembershipRole.OWNER));
+        membershipRepository.save(new TodoMembership(owned, collaborator, MembershipRole.COLLABORATOR));
+        membershipRepository.save(new TodoMembership(shared, owner, MembershipRole.COLLABORATOR));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, userRepository.deleteDirectlyById(owner.getId()));
+
+        assertEquals(0, count("select count(*) from todos where id = ?", owned.getId()));
+        assertEquals(0, count("select count(*) from tasks where todo_id = ?", owned.getId()));
+        assertEquals(0, count("select count(*) from todo_collaborator where todo_id = ? or collaborator_id = ?",
+                owned.getId(), owner.getId()));
+        assertEquals(0, count("select count(*) from todo_membership where todo_id = ? or user_id = ?",
+                owned.getId(), owner.getId()));
+        assertEquals(1, count("select count(*) from todos where id = ?", shared.getId()));
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    private User saveUser(String firstName, String lastName, String email) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setPassword("1111");
+        user.setRole(UserRole.USER);
+        return userRepository.save(user);
+    }
 }
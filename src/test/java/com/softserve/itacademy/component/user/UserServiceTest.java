@@ -1,18 +1,31 @@
 package com.softserve.itacademy.component.user;
 
+import com.softserve.itacademy.config.exception.InvalidCursorException;
 import com.softserve.itacademy.config.exception.NullEntityReferenceException;
+import com.softserve.itacademy.config.security.VerifiedCredentialCache;
+import com.softserve.itacademy.dto.KeysetPage;
+import com.softserve.itacademy.dto.userDto.UserListCursor;
+import com.softserve.itacademy.dto.userDto.UserListItemDto;
+import com.softserve.itacademy.dto.userDto.UserListSort;
 import com.softserve.itacademy.model.User;
 import com.softserve.itacademy.repository.UserRepository;
 import com.softserve.itacademy.service.UserService;
+import com.softserve.itacademy.service.cache.EntitySnapshotCache;
+import com.softserve.itacademy.service.cache.RequestEntityCache;
+import com.softserve.itacademy.service.purge.UserDeletionRequested;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +40,21 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private VerifiedCredentialCache credentialCache;
+
+    @Spy
+    private RequestEntityCache requestCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntitySnapshotCache snapshotCache;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @InjectMocks
     private UserService userService;
 
@@ -46,13 +74,81 @@ public class UserServiceTest {
         expected = null;
     }
 
+    @Test
+    public void testGetListPageReturnsCursorOfLastUser() {
+        List<UserListItemDto> users = List.of(
+                new UserListItemDto(1L, "Mike", "Green", "mike@mail.com"),
+                new UserListItemDto(2L, "Nick", "Grey", "nick@mail.com"),
+                new UserListItemDto(3L, "Nora", "Grim", "nora@mail.com"));
+        when(userRepository.findListPage(UserListSort.LAST_NAME, "Gr", null, 3)).thenReturn(users);
+
+        KeysetPage<UserListItemDto> page = userService.getListPage(UserListSort.LAST_NAME, " gr ", null, 2);
+
+        assertEquals(users.subList(0, 2), page.content());
+        assertEquals(new UserListCursor(UserListSort.LAST_NAME, "Grey", 2L),
+                UserListCursor.decode(page.nextCursor(), UserListSort.LAST_NAME));
+    }
+
+    @Test
+    public void testGetListPageEscapesQueryAndClampsSize() {
+        UserListCursor after = new UserListCursor(UserListSort.EMAIL, "mike@mail.com", 1L);
+        when(userRepository.findListPage(UserListSort.EMAIL, "a\\_b", after, UserService.MAX_PAGE_SIZE + 1))
+                .thenReturn(List.of());
+
+        KeysetPage<UserListItemDto> page = userService.getListPage(UserListSort.EMAIL, "A_b", after.encode(), 10_000);
+
+        assertThat(page.content()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    public void testGetListPageRejectsCursorOfOtherSort() {
+        String cursor = new UserListCursor(UserListSort.EMAIL, "mike@mail.com", 1L).encode();
+
+        assertThrows(InvalidCursorException.class,
+                () -> userService.getListPage(UserListSort.LAST_NAME, null, cursor, 20));
+        assertThrows(InvalidCursorException.class,
+                () -> userService.getListPage(UserListSort.LAST_NAME, null, "not a cursor", 20));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     public void testCorrectCreate() {
+        when(passwordEncoder.encode("1111")).thenReturn("hash");
         when(userRepository.save(expected)).thenReturn(expected);
         User actual = userService.create(expected);
 
         assertEquals(expected, actual);
+        assertEquals("hash", actual.getPassword());
         verify(userRepository, times(1)).save(expected);
+        verify(snapshotCache, times(1)).evictUser(expected.getId());
+    }
+
+    @Test
+    public void testChangePassword() {
+        expected.setId(7L);
+        when(userRepository.findByEmail("green@mail.com")).thenReturn(Optional.of(expected));
+        when(passwordEncoder.matches("1111", "1111")).thenReturn(true);
+        when(passwordEncoder.encode("2222")).thenReturn("hash");
+
+        assertThat(userService.changePassword("green@mail.com", "1111", "2222")).contains(expected);
+
+        assertEquals("hash", expected.getPassword());
+        verify(userRepository, times(1)).saveAndFlush(expected);
+        verify(credentialCache, times(1)).evict("green@mail.com");
+        verify(snapshotCache, times(1)).evictUser(7L, expected.getVersion());
+    }
+
+    @Test
+    public void testChangePasswordWithWrongOldPassword() {
+        when(userRepository.findByEmail("green@mail.com")).thenReturn(Optional.of(expected));
+        when(passwordEncoder.matches("3333", "1111")).thenReturn(false);
+
+        assertThat(userService.changePassword("green@mail.com", "3333", "2222")).isEmpty();
+
+        assertEquals("1111", expected.getPassword());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(snapshotCache);
     }
 
     @Test
@@ -68,7 +164,7 @@ public class UserServiceTest {
     @Test
     public void testCorrectReadById() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(expected));
-        User actual = userService.readById(anyLong());
+        User actual = userService.readById(0L);
 
         assertEquals(expected, actual);
         verify(userRepository, times(1)).findById(anyLong());
@@ -77,7 +173,7 @@ public class UserServiceTest {
     @Test
     public void testExceptionReadById() {
         Exception exception = assertThrows(EntityNotFoundException.class, ()
-                -> userService.readById(anyLong())
+                -> userService.readById(0L)
         );
 
         assertEquals("User with id 0 not found", exception.getMessage());
@@ -96,13 +192,24 @@ public class UserServiceTest {
 //    }
 
     @Test
-    public void testDelete() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(new User()));
-        doNothing().when(userRepository).delete(any(User.class));
-        userService.delete(anyLong());
+    public void testRequestDeletion() {
+        expected.setId(7L);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(expected));
+        when(userRepository.markForDeletion(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        userService.requestDeletion(7L);
+
+        verify(credentialCache, times(1)).evict("green@mail.com");
+        verify(eventPublisher, times(1)).publishEvent(new UserDeletionRequested(7L));
+        verify(userRepository, never()).deleteDirectlyById(anyLong());
+    }
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(userRepository, times(1)).delete(any(User.class));
+    @Test
+    public void testRepeatedRequestDeletion() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(expected));
+        when(userRepository.markForDeletion(eq(7L), any(LocalDateTime.class))).thenReturn(0);
+        userService.requestDeletion(7L);
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
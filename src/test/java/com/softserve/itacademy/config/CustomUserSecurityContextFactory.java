@@ -2,6 +2,7 @@ package com.softserve.itacademy.config;
 
 import com.softserve.itacademy.service.UserService;
 import com.softserve.itacademy.model.User;
+import com.softserve.itacademy.config.security.AuthenticatedUser;
 import com.softserve.itacademy.config.security.WebAuthenticationToken;
 import org.mockito.MockingDetails;
 import org.mockito.Mockito;
@@ -29,12 +30,12 @@ public class CustomUserSecurityContextFactory implements WithSecurityContextFact
         if (userService != null) {
             MockingDetails mockingDetails = Mockito.mockingDetails(userService);
             if (mockingDetails.isMock()) {
-                Mockito.when(userService.getCurrentUser()).thenReturn(user);
+                Mockito.when(userService.getCurrentUser()).thenReturn(AuthenticatedUser.of(user));
             }
         }
 
         SecurityContext context = SecurityContextHolder.createEmptyContext();
-        WebAuthenticationToken token = new WebAuthenticationToken(user);
+        WebAuthenticationToken token = new WebAuthenticationToken(AuthenticatedUser.of(user));
 
         token.setAuthenticated(true);
         context.setAuthentication(token);